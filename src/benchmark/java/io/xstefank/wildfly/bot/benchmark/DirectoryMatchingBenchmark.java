@@ -0,0 +1,45 @@
+package io.xstefank.wildfly.bot.benchmark;
+
+import io.xstefank.wildfly.bot.util.CompiledRules;
+import io.xstefank.wildfly.bot.util.Matcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Evaluation of the {@code directories} of all rules against the files changed by a pull request.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DirectoryMatchingBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int rules;
+
+    @Param({ "10", "1000", "10000" })
+    int files;
+
+    private CompiledRules compiledRules;
+    private List<String> changedFiles;
+
+    @Setup
+    public void setup() {
+        compiledRules = CompiledRules.compile(Generators.rules(rules));
+        changedFiles = Generators.files(files);
+    }
+
+    @Benchmark
+    public BitSet notifyRequestReview() {
+        return Matcher.notifyRequestReview(changedFiles, compiledRules);
+    }
+}
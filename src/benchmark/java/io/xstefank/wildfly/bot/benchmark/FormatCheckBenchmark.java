@@ -0,0 +1,85 @@
+package io.xstefank.wildfly.bot.benchmark;
+
+import io.xstefank.wildfly.bot.format.CommitMessagesCheck;
+import io.xstefank.wildfly.bot.format.DescriptionCheck;
+import io.xstefank.wildfly.bot.format.TitleCheck;
+import io.xstefank.wildfly.bot.model.Description;
+import io.xstefank.wildfly.bot.model.RegexDefinition;
+import io.xstefank.wildfly.bot.model.RuntimeConstants;
+import io.xstefank.wildfly.bot.util.Patterns;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The format checks run for every pull request event, with the patterns of the default configuration.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FormatCheckBenchmark {
+
+    @Param({ "1024", "65536", "1048576" })
+    int bodySize;
+
+    @Param({ "10", "100" })
+    int commits;
+
+    private PullRequestContent pullRequest;
+    private String body;
+    private TitleCheck titleCheck;
+    private CommitMessagesCheck commitMessagesCheck;
+    private DescriptionCheck descriptionCheck;
+    private Pattern projectPattern;
+
+    @Setup
+    public void setup() throws IOException {
+        body = Generators.body(bodySize);
+        pullRequest = PullRequestContent.of(Generators.pullRequest("[WFLY-12345] Upgrade hibernate", body, commits),
+                null);
+
+        projectPattern = Pattern.compile(RuntimeConstants.PROJECT_PATTERN_REGEX.formatted(RuntimeConstants.DEFAULT_PROJECT_KEY),
+                Pattern.DOTALL);
+        titleCheck = new TitleCheck(new RegexDefinition(projectPattern, RuntimeConstants.DEFAULT_TITLE_MESSAGE));
+        commitMessagesCheck = new CommitMessagesCheck(new RegexDefinition(projectPattern,
+                RuntimeConstants.DEFAULT_COMMIT_MESSAGE));
+
+        Description description = new Description();
+        description.regexes = List.of(
+                new RegexDefinition(Pattern.compile("https://issues.redhat.com/browse/WFLY-\\d+"), null),
+                // never matches, so that the whole body is scanned
+                new RegexDefinition(Pattern.compile("^Signed-off-by: .+ <.+@.+>$"), null));
+        descriptionCheck = new DescriptionCheck(description);
+    }
+
+    @Benchmark
+    public String titleCheck() {
+        return titleCheck.check(pullRequest);
+    }
+
+    @Benchmark
+    public String commitMessagesCheck() throws IOException {
+        return commitMessagesCheck.check(pullRequest);
+    }
+
+    @Benchmark
+    public String descriptionCheck() {
+        return descriptionCheck.check(pullRequest);
+    }
+
+    @Benchmark
+    public boolean patternsFind() {
+        return Patterns.find(projectPattern, body);
+    }
+}
@@ -0,0 +1,114 @@
+package io.xstefank.wildfly.bot.benchmark;
+
+import io.quarkiverse.githubapp.testing.GitHubAppMockito;
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestCommitDetail;
+import org.kohsuke.github.GHUser;
+import org.kohsuke.github.PagedSearchIterable;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Deterministic synthetic inputs for the benchmarks. All generators use a fixed seed, so that every run
+ * measures exactly the same data.
+ */
+final class Generators {
+
+    private static final String[] WORDS = { "hibernate", "undertow", "ejb", "jpa", "messaging", "clustering",
+            "microprofile", "health", "metrics", "security", "elytron", "transactions", "naming", "logging",
+            "jaxrs", "weld", "infinispan", "jgroups", "batch", "mail" };
+
+    private static final String[] DIRECTORIES = { "src/main/java", "src/test/java", "testsuite/integration",
+            "microprofile", "clustering", "ee-feature-pack", "undertow", "ejb3", "jpa", "messaging-activemq" };
+
+    private Generators() {
+    }
+
+    /**
+     * Rules mixing the shapes found in real configuration files: plain keywords, regular expressions,
+     * plain directories and directory globs.
+     */
+    static List<WildFlyRule> rules(int count) {
+        Random random = new Random(count);
+        List<WildFlyRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            WildFlyRule rule = new WildFlyRule();
+            rule.id = "rule-" + i;
+            String word = WORDS[random.nextInt(WORDS.length)] + (i / WORDS.length);
+            switch (i % 4) {
+                case 0 -> rule.title = word;
+                case 1 -> rule.body = word;
+                case 2 -> rule.titleBody = word + "|" + WORDS[random.nextInt(WORDS.length)] + "-\\d+";
+                default -> rule.titleBody = word;
+            }
+            if (i % 3 == 0) {
+                String directory = DIRECTORIES[random.nextInt(DIRECTORIES.length)] + "/module" + i;
+                rule.directories = List.of(i % 6 == 0 ? directory + "/*/resources" : directory);
+            }
+            rule.notify = List.of("user" + i);
+            rule.labels = List.of("label" + i);
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    /**
+     * Pull request description of the given size in bytes, made of words which may match the rules.
+     */
+    static String body(int size) {
+        Random random = new Random(size);
+        StringBuilder body = new StringBuilder(size + 32);
+        body.append("https://issues.redhat.com/browse/WFLY-12345\n\n");
+        while (body.length() < size) {
+            body.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(50));
+            body.append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        body.setLength(size);
+        return body.toString();
+    }
+
+    static List<String> files(int count) {
+        Random random = new Random(count);
+        List<String> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            files.add(DIRECTORIES[random.nextInt(DIRECTORIES.length)] + "/module" + random.nextInt(1000)
+                    + "/org/wildfly/" + WORDS[random.nextInt(WORDS.length)] + "/File" + i + ".java");
+        }
+        return files;
+    }
+
+    /**
+     * Mocked pull request answering only what the format checks and the rules read.
+     */
+    static GHPullRequest pullRequest(String title, String body, int commits) throws IOException {
+        GHPullRequest pullRequest = Mockito.mock(GHPullRequest.class, withSettings().stubOnly());
+        GHUser user = Mockito.mock(GHUser.class, withSettings().stubOnly());
+        Mockito.when(user.getLogin()).thenReturn("author");
+        Mockito.when(pullRequest.getUser()).thenReturn(user);
+        Mockito.when(pullRequest.getTitle()).thenReturn(title);
+        Mockito.when(pullRequest.getBody()).thenReturn(body);
+
+        GHPullRequestCommitDetail[] details = new GHPullRequestCommitDetail[commits];
+        for (int i = 0; i < commits; i++) {
+            GHPullRequestCommitDetail detail = Mockito.mock(GHPullRequestCommitDetail.class, withSettings().stubOnly());
+            GHPullRequestCommitDetail.Commit commit = Mockito.mock(GHPullRequestCommitDetail.Commit.class,
+                    withSettings().stubOnly());
+            Mockito.when(detail.getCommit()).thenReturn(commit);
+            Mockito.when(detail.getSha()).thenReturn("%040d".formatted(i));
+            Mockito.when(commit.getMessage()).thenReturn(i == commits - 1
+                    ? "[WFLY-12345] " + WORDS[i % WORDS.length]
+                    : "Fix " + WORDS[i % WORDS.length]);
+            details[i] = detail;
+        }
+        PagedSearchIterable<GHPullRequestCommitDetail> commitDetails = GitHubAppMockito.mockPagedIterable(details);
+        Mockito.when(pullRequest.listCommits()).thenReturn(commitDetails);
+        return pullRequest;
+    }
+}
@@ -0,0 +1,219 @@
+package io.xstefank.wildfly.bot.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import io.xstefank.wildfly.bot.util.HttpClientConnector;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Short API calls made concurrently from several worker threads against a local HTTPS stub of the GitHub API. The
+ * stub speaks HTTP/1.1 only, so the benchmark shows the effect of keeping the connections and TLS sessions alive, not
+ * of HTTP/2 multiplexing, compared to the default connector of the GitHub API library, with and without keep-alive.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpClientConnectorBenchmark {
+
+    private static final String PASSWORD = "benchmark";
+
+    private HttpsServer server;
+    private ExecutorService serverExecutor;
+    private Path keyStoreFile;
+    private URL url;
+    private GitHubConnector httpClientConnector;
+
+    @Setup
+    public void setup() throws Exception {
+        keyStoreFile = Files.createTempDirectory("wildfly-bot-benchmark").resolve("stub.p12");
+        SSLContext sslContext = sslContext(keyStoreFile);
+        // used by the default connector as well as the HttpClient
+        SSLContext.setDefault(sslContext);
+
+        byte[] body = Generators.body(2048).getBytes(StandardCharsets.UTF_8);
+        // otherwise the stub writes the headers and the body in separate delayed segments
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> respond(exchange, body));
+        server.start();
+
+        url = new URL("https://localhost:" + server.getAddress().getPort() + "/repos/wildfly/wildfly/pulls/1");
+        httpClientConnector = new HttpClientConnector(HttpClientConnector.newHttpClient(Duration.ofSeconds(10)),
+                Duration.ofSeconds(30), 32, Duration.ofSeconds(1));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        Files.deleteIfExists(keyStoreFile);
+        Files.deleteIfExists(keyStoreFile.getParent());
+    }
+
+    @Benchmark
+    public int defaultConnector() throws IOException {
+        return call(GitHubConnector.DEFAULT);
+    }
+
+    /**
+     * Every call opens a new connection and performs a full TLS handshake.
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dhttp.keepAlive=false")
+    public int defaultConnectorWithoutKeepAlive() throws IOException {
+        return call(GitHubConnector.DEFAULT);
+    }
+
+    @Benchmark
+    public int httpClientConnector() throws IOException {
+        return call(httpClientConnector);
+    }
+
+    private int call(GitHubConnector connector) throws IOException {
+        try (GitHubConnectorResponse response = connector.send(new GetRequest(url));
+                InputStream body = response.bodyStream()) {
+            return body.readAllBytes().length;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            byte[] response = body;
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(body);
+                }
+                response = compressed.toByteArray();
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+    }
+
+    /**
+     * @return context trusting the self-signed certificate of {@code localhost}, which is generated by keytool
+     */
+    private static SSLContext sslContext(Path keyStoreFile) throws IOException, InterruptedException,
+            GeneralSecurityException {
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "stub", "-keyalg", "EC", "-groupname", "secp256r1", "-validity", "1",
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                "-storetype", "PKCS12", "-keystore", keyStoreFile.toString(),
+                "-storepass", PASSWORD, "-keypass", PASSWORD)
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(keytool.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (keytool.waitFor() != 0) {
+            throw new IOException("Unable to generate the certificate of the stub: " + output);
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStoreFile)) {
+            keyStore.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD.toCharArray());
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+        return sslContext;
+    }
+
+    private static final class GetRequest implements GitHubConnectorRequest {
+
+        private final URL url;
+
+        private GetRequest(URL url) {
+            this.url = url;
+        }
+
+        @Override
+        public String method() {
+            return "GET";
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return Map.of("Accept", List.of("application/vnd.github+json"));
+        }
+
+        @Override
+        public String header(String name) {
+            return "Accept".equalsIgnoreCase(name) ? "application/vnd.github+json" : null;
+        }
+
+        @Override
+        public String contentType() {
+            return null;
+        }
+
+        @Override
+        public InputStream body() {
+            return null;
+        }
+
+        @Override
+        public URL url() {
+            return url;
+        }
+
+        @Override
+        public boolean hasBody() {
+            return false;
+        }
+    }
+}
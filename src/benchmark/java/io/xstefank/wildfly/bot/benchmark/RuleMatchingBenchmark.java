@@ -0,0 +1,59 @@
+package io.xstefank.wildfly.bot.benchmark;
+
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
+import io.xstefank.wildfly.bot.util.CompiledRules;
+import io.xstefank.wildfly.bot.util.Matcher;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Evaluation of the {@code title}, {@code body} and {@code titleBody} of all rules against a pull request.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RuleMatchingBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int rules;
+
+    @Param({ "1024", "65536", "1048576" })
+    int bodySize;
+
+    private List<WildFlyRule> configuration;
+    private CompiledRules compiledRules;
+    private PullRequestContent pullRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        configuration = Generators.rules(rules);
+        compiledRules = CompiledRules.compile(configuration);
+        pullRequest = PullRequestContent.of(Generators.pullRequest("[WFLY-12345] Upgrade hibernate3 and undertow7",
+                Generators.body(bodySize), 1), null);
+    }
+
+    @Benchmark
+    public BitSet notifyComment() {
+        return Matcher.notifyComment(pullRequest, compiledRules);
+    }
+
+    /**
+     * Cost paid once per configuration version, see {@link io.xstefank.wildfly.bot.util.CompiledRulesProvider}.
+     */
+    @Benchmark
+    public CompiledRules compileRules() {
+        return CompiledRules.compile(configuration);
+    }
+}
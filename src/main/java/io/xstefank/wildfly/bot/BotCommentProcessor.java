@@ -0,0 +1,41 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.event.IssueComment;
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import io.xstefank.wildfly.bot.util.BotCommentIndex;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.kohsuke.github.GHEventPayload;
+
+/**
+ * Keeps the {@link BotCommentIndex} in sync with the comments of the bot deleted or edited by someone else.
+ */
+@RequestScoped
+public class BotCommentProcessor {
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    @Inject
+    BotCommentIndex botCommentIndex;
+
+    void commentDeleted(@IssueComment.Deleted GHEventPayload.IssueComment commentPayload) {
+        invalidate(commentPayload);
+    }
+
+    void commentEdited(@IssueComment.Edited GHEventPayload.IssueComment commentPayload) {
+        // the edits of the bot itself are already in the index
+        if (!wildFlyBotConfig.githubName().equals(commentPayload.getSender().getLogin())) {
+            invalidate(commentPayload);
+        }
+    }
+
+    // getUser() fetches the user, while only the login from the payload is needed
+    @SuppressWarnings("deprecation")
+    private void invalidate(GHEventPayload.IssueComment commentPayload) {
+        if (wildFlyBotConfig.githubName().equals(commentPayload.getComment().getUserName())) {
+            botCommentIndex.invalidate(commentPayload.getRepository().getFullName(),
+                    commentPayload.getIssue().getNumber());
+        }
+    }
+}
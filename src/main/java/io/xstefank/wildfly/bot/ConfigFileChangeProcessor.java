@@ -5,10 +5,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkiverse.githubapp.event.PullRequest;
 import io.quarkiverse.githubapp.runtime.UtilsProducer;
 import io.quarkiverse.githubapp.runtime.github.GitHubConfigFileProviderImpl;
+import io.xstefank.wildfly.bot.model.RegexDefinition;
 import io.xstefank.wildfly.bot.model.RuntimeConstants;
 import io.xstefank.wildfly.bot.model.WildFlyConfigFile;
+import io.xstefank.wildfly.bot.util.CompiledRules;
 import io.xstefank.wildfly.bot.util.GithubProcessor;
+import io.xstefank.wildfly.bot.util.KeywordAutomaton;
+import io.xstefank.wildfly.bot.util.PathGlob;
+import io.xstefank.wildfly.bot.util.Patterns;
 import io.xstefank.wildfly.bot.util.PullRequestLogger;
+import io.xstefank.wildfly.bot.util.PullRequestSnapshots;
+import io.xstefank.wildfly.bot.util.RepositoryLabelCache;
+import io.xstefank.wildfly.bot.util.Strings;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -16,18 +24,18 @@ import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHEventPayload;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestFileDetail;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.HttpException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.regex.PatternSyntaxException;
 
 import static io.xstefank.wildfly.bot.model.RuntimeConstants.FAILED_CONFIGFILE_COMMENT;
 
@@ -50,6 +58,12 @@ public class ConfigFileChangeProcessor {
     @Inject
     GithubProcessor githubProcessor;
 
+    @Inject
+    PullRequestSnapshots pullRequestSnapshots;
+
+    @Inject
+    RepositoryLabelCache repositoryLabelCache;
+
     void onFileChanged(
             @PullRequest.Opened @PullRequest.Edited @PullRequest.Synchronize @PullRequest.Reopened @PullRequest.ReadyForReview GHEventPayload.PullRequest pullRequestPayload,
             GitHub gitHub) throws IOException {
@@ -57,8 +71,8 @@ public class ConfigFileChangeProcessor {
         LOG.setPullRequest(pullRequest);
 
         GHRepository repository = pullRequest.getRepository();
-        for (GHPullRequestFileDetail changedFile : pullRequest.listFiles()) {
-            if (changedFile.getFilename().equals(fileProvider.getFilePath(RuntimeConstants.CONFIG_FILE_NAME))) {
+        for (String changedFile : pullRequestSnapshots.get(pullRequestPayload).getFilenames()) {
+            if (changedFile.equals(fileProvider.getFilePath(RuntimeConstants.CONFIG_FILE_NAME))) {
                 try {
                     GHContent updatedFile = gitHub.getRepository(pullRequest.getHead().getRepository().getFullName())
                             .getFileContent(".github/"
@@ -98,11 +112,7 @@ public class ConfigFileChangeProcessor {
     List<String> validateFile(WildFlyConfigFile file, GHRepository repository) throws IOException {
         List<String> problems = new ArrayList<>();
         Set<WildFlyConfigFile.WildFlyRule> rules = new HashSet<>();
-        Set<String> repoLabels = repository.listLabels()
-                .toList()
-                .stream()
-                .map(ghLabel -> ghLabel.getName())
-                .collect(Collectors.toSet());
+        Set<String> repoLabels = repositoryLabelCache.labels(repository);
 
         if (file.wildfly.rules != null) {
             for (WildFlyConfigFile.WildFlyRule rule : file.wildfly.rules) {
@@ -116,6 +126,21 @@ public class ConfigFileChangeProcessor {
                     rules.add(rule);
                 }
 
+                for (String expression : Arrays.asList(rule.title, rule.body, rule.titleBody)) {
+                    if (Strings.isBlank(expression) || KeywordAutomaton.isLiteral(expression)) {
+                        continue;
+                    }
+                    try {
+                        if (Patterns.isCatastrophic(CompiledRules.compileExpression(expression))) {
+                            problems.add(ERROR_RULE.formatted("Rule [" + rule.toPrettyString()
+                                    + "] has a regular expression which takes too long to evaluate: " + expression));
+                        }
+                    } catch (PatternSyntaxException e) {
+                        problems.add(ERROR_RULE.formatted("Rule [" + rule.toPrettyString()
+                                + "] has an invalid regular expression: " + expression + ". " + e.getDescription()));
+                    }
+                }
+
                 for (String label : rule.labels) {
                     if (!repoLabels.contains(label)) {
                         problems.add(WARN_RULE
@@ -124,8 +149,23 @@ public class ConfigFileChangeProcessor {
                 }
 
                 for (String directory : rule.directories) {
+                    String existingPath = directory;
+                    if (PathGlob.isGlob(directory)) {
+                        try {
+                            // only the part before the first wildcard has to exist
+                            existingPath = PathGlob.compile(directory).getLiteralPrefix();
+                        } catch (IllegalArgumentException e) {
+                            problems.add(ERROR_RULE.formatted("Rule [" + rule.toPrettyString()
+                                    + "] has the following invalid directory pattern specified: " + directory + ". "
+                                    + e.getMessage()));
+                            continue;
+                        }
+                        if (existingPath.isEmpty()) {
+                            continue;
+                        }
+                    }
                     try {
-                        repository.getDirectoryContent(directory);
+                        repository.getDirectoryContent(existingPath);
                     } catch (IOException e) {
                         // non-existing directory or it is not a file
                         if (e instanceof GHFileNotFoundException ||
@@ -140,6 +180,15 @@ public class ConfigFileChangeProcessor {
             }
         }
 
+        if (file.wildfly.format.description != null && file.wildfly.format.description.regexes != null) {
+            for (RegexDefinition regexDefinition : file.wildfly.format.description.regexes) {
+                if (regexDefinition.pattern != null && Patterns.isCatastrophic(regexDefinition.pattern)) {
+                    problems.add(ERROR_RULE.formatted("Description regex takes too long to evaluate: "
+                            + regexDefinition.pattern.pattern()));
+                }
+            }
+        }
+
         return problems;
     }
 }
@@ -6,10 +6,14 @@ import io.quarkiverse.githubapp.GitHubConfigFileProvider;
 import io.quarkiverse.githubapp.event.Installation;
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
 import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
 import io.xstefank.wildfly.bot.model.RuntimeConstants;
 import io.xstefank.wildfly.bot.model.WildFlyConfigFile;
+import io.xstefank.wildfly.bot.util.ApiPriority;
+import io.xstefank.wildfly.bot.util.GitHubUnavailableException;
 import io.xstefank.wildfly.bot.util.GithubProcessor;
+import io.xstefank.wildfly.bot.util.InstallationClients;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Any;
@@ -17,11 +21,14 @@ import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import org.kohsuke.github.GHAppInstallation;
 import org.kohsuke.github.GHEventPayload;
+import org.kohsuke.github.GHException;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.HttpException;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -45,12 +52,18 @@ public class LifecycleProcessor {
 
     private static final Logger LOG = Logger.getLogger(LifecycleProcessor.class);
 
+    private static final long MIN_RETRY_DELAY_MILLIS = 1_000;
+    private static final int MAX_RESUBMISSIONS = 10;
+
     @Inject
     WildFlyBotConfig wildFlyBotConfig;
 
     @Inject
     GitHubClientProvider clientProvider;
 
+    @Inject
+    InstallationClients installationClients;
+
     @Inject
     GitHubConfigFileProvider fileProvider;
 
@@ -67,58 +80,126 @@ public class LifecycleProcessor {
                     .formatted("GitHub requests will only log statements and not send actual requests to GitHub."));
         }
 
-        long installationId = 0L;
+        for (GHAppInstallation installation : listInstallations()) {
+            validateInstallation(installation.getId(), 0);
+        }
+    }
+
+    private List<GHAppInstallation> listInstallations() {
+        List<GHAppInstallation> installations = new ArrayList<>();
         try {
             for (GHAppInstallation installation : clientProvider.getApplicationClient().getApp().listInstallations()) {
-                installationId = installation.getId();
-                GitHub app = clientProvider.getInstallationClient(installation.getId());
-                for (GHRepository repository : app.getInstallation().listRepositories()) {
-                    try {
-                        WildFlyConfigFile wildflyBotConfigFile = fileProvider.fetchConfigFile(repository,
-                                RuntimeConstants.CONFIG_FILE_NAME, ConfigFile.Source.DEFAULT, WildFlyConfigFile.class).get();
-                        List<String> emailAddresses = wildflyBotConfigFile.wildfly.emails;
-                        List<String> problems = configFileChangeProcessor.validateFile(wildflyBotConfigFile, repository);
-
-                        githubProcessor.createLabelsIfMissing(repository, Set.of(LABEL_NEEDS_REBASE, LABEL_FIX_ME));
-
-                        if (problems.isEmpty()) {
-                            LOG.infof("The configuration file from the repository %s was parsed successfully.",
-                                    repository.getFullName());
-                        } else {
-                            LOG.errorf(
-                                    "The configuration file from the repository %s was not parsed successfully due to following problems: %s",
-                                    repository.getFullName(), problems);
-                            githubProcessor.sendEmail(
-                                    EMAIL_SUBJECT,
-                                    EMAIL_TEXT.formatted(RuntimeConstants.CONFIG_FILE_NAME, repository.getHttpTransportUrl(),
-                                            prettyString(problems)),
-                                    emailAddresses);
-                        }
-                    } catch (IllegalStateException e) {
-                        LOG.errorf(e, "Unable to retrieve or parse the configuration file from the repository %s",
-                                repository.getFullName());
-                    }
-                }
+                installations.add(installation);
             }
         } catch (IOException | IllegalStateException e) {
+            LOG.errorf(e, "%s is unable to start.", wildFlyBotConfig.githubName());
+        }
+        return installations;
+    }
+
+    /**
+     * Validates the configuration files of all repositories of the installation. The validation must not compete
+     * with the events received meanwhile, so it is a background work, which is submitted again if it is deferred.
+     * Only the listing of the repositories is submitted again for the installation, a deferred repository is
+     * submitted again on its own.
+     */
+    private void validateInstallation(long installationId, int resubmissions) {
+        ApiPriority previousPriority = ApiPriority.set(ApiPriority.BACKGROUND);
+        try {
+            GitHub app = installationClients.get(installationId);
+            List<GHRepository> repositories = new ArrayList<>();
+            for (GHRepository repository : app.getInstallation().listRepositories()) {
+                repositories.add(repository);
+            }
+            for (GHRepository repository : repositories) {
+                validateRepository(repository, 0);
+            }
+        } catch (IOException | IllegalStateException | GHException e) {
+            if (GitHubUnavailableException.isCause(e)) {
+                resubmit("the installation " + installationId, e, resubmissions,
+                        () -> validateInstallation(installationId, resubmissions + 1));
+                return;
+            }
             if (e instanceof IOException) {
                 LOG.warnf(e, "Unable to verify rules in repository.");
+            } else if (e.getCause() instanceof HttpException && e.getCause().getMessage().contains("suspended")) {
+                LOG.warnf(
+                        "Your installation has been suspended. No events will be received until you unsuspend the github app installation.");
             } else {
-                if (e.getCause() instanceof HttpException && e.getCause() != null
-                        && e.getCause().getMessage().contains("suspended")) {
-                    LOG.warnf(
-                            "Your installation has been suspended. No events will be received until you unsuspend the github app installation.");
-                } else {
-                    LOG.errorf(e, "%s is unable to start.", wildFlyBotConfig.githubName());
-                }
+                LOG.errorf(e, "%s is unable to start.", wildFlyBotConfig.githubName());
             }
             LOG.errorf(e, "Unable to correctly start %s for following installation id [%d]", wildFlyBotConfig.githubName(),
                     installationId);
+        } finally {
+            ApiPriority.set(previousPriority);
+        }
+    }
+
+    private void validateRepository(GHRepository repository, int resubmissions) throws IOException {
+        try {
+            WildFlyConfigFile wildflyBotConfigFile = fileProvider.fetchConfigFile(repository,
+                    RuntimeConstants.CONFIG_FILE_NAME, ConfigFile.Source.DEFAULT, WildFlyConfigFile.class).get();
+            List<String> emailAddresses = wildflyBotConfigFile.wildfly.emails;
+            List<String> problems = configFileChangeProcessor.validateFile(wildflyBotConfigFile, repository);
+
+            githubProcessor.createLabelsIfMissing(repository, Set.of(LABEL_NEEDS_REBASE, LABEL_FIX_ME));
+
+            if (problems.isEmpty()) {
+                LOG.infof("The configuration file from the repository %s was parsed successfully.",
+                        repository.getFullName());
+            } else {
+                LOG.errorf(
+                        "The configuration file from the repository %s was not parsed successfully due to following problems: %s",
+                        repository.getFullName(), problems);
+                githubProcessor.sendEmail(
+                        EMAIL_SUBJECT,
+                        EMAIL_TEXT.formatted(RuntimeConstants.CONFIG_FILE_NAME, repository.getHttpTransportUrl(),
+                                prettyString(problems)),
+                        emailAddresses);
+            }
+        } catch (IOException | IllegalStateException | GHException e) {
+            if (GitHubUnavailableException.isCause(e)) {
+                ApiPriority priority = ApiPriority.current();
+                resubmit("the repository " + repository.getFullName(), e, resubmissions, () -> {
+                    ApiPriority previousPriority = ApiPriority.set(priority);
+                    try {
+                        validateRepository(repository, resubmissions + 1);
+                    } catch (IOException ioe) {
+                        LOG.errorf(ioe, "Unable to validate the repository %s", repository.getFullName());
+                    } finally {
+                        ApiPriority.set(previousPriority);
+                    }
+                });
+                return;
+            }
+            if (e instanceof IOException ioe) {
+                throw ioe;
+            }
+            LOG.errorf(e, "Unable to retrieve or parse the configuration file from the repository %s",
+                    repository.getFullName());
+        }
+    }
+
+    /**
+     * Runs the validation again once the call which was not sent to GitHub may be sent, unless it has already been
+     * submitted again {@value #MAX_RESUBMISSIONS} times.
+     */
+    private void resubmit(String what, Throwable failure, int resubmissions, Runnable validation) {
+        if (resubmissions >= MAX_RESUBMISSIONS) {
+            LOG.errorf(failure, "Unable to validate %s, it was deferred %d times", what, resubmissions + 1);
+            return;
         }
+        long delay = Math.max(GitHubUnavailableException.retryAfterMillis(failure), MIN_RETRY_DELAY_MILLIS);
+        LOG.infof("Deferring the validation of %s by %d ms: %s", what, delay, failure.getMessage());
+        Uni.createFrom().voidItem()
+                .onItem().delayIt().by(Duration.ofMillis(delay))
+                .subscribe().with(ignored -> validation.run(),
+                        e -> LOG.errorf(e, "Unable to validate %s", what));
     }
 
     void suspendedInstallation(@Installation.Suspend GHEventPayload.Installation installationPayload) {
         GHAppInstallation installation = installationPayload.getInstallation();
+        installationClients.evict(installation.getId());
         LOG.infof(
                 "%s has been suspended for following installation id: %d and will not be able to listen for any incoming Events.",
                 wildFlyBotConfig.githubName(), installation.getAppId());
@@ -2,7 +2,6 @@ package io.xstefank.wildfly.bot;
 
 import io.quarkiverse.githubapp.ConfigFile;
 import io.quarkiverse.githubapp.event.PullRequest;
-import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
 import io.xstefank.wildfly.bot.format.Check;
 import io.xstefank.wildfly.bot.format.CommitMessagesCheck;
 import io.xstefank.wildfly.bot.format.DescriptionCheck;
@@ -11,7 +10,11 @@ import io.xstefank.wildfly.bot.model.RegexDefinition;
 import io.xstefank.wildfly.bot.model.RuntimeConstants;
 import io.xstefank.wildfly.bot.model.WildFlyConfigFile;
 import io.xstefank.wildfly.bot.util.GithubProcessor;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
 import io.xstefank.wildfly.bot.util.PullRequestLogger;
+import io.xstefank.wildfly.bot.util.PullRequestSnapshots;
+import io.xstefank.wildfly.bot.util.RegexTimeoutException;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -38,7 +41,10 @@ public class PullRequestFormatProcessor {
     GithubProcessor githubProcessor;
 
     @Inject
-    WildFlyBotConfig wildFlyBotConfig;
+    PullRequestSnapshots pullRequestSnapshots;
+
+    @Inject
+    WriteBehindQueue writeBehindQueue;
 
     void pullRequestFormatCheck(
             @PullRequest.Edited @PullRequest.Opened @PullRequest.Synchronize @PullRequest.Reopened @PullRequest.ReadyForReview GHEventPayload.PullRequest pullRequestPayload,
@@ -59,10 +65,18 @@ public class PullRequestFormatProcessor {
         }
 
         List<Check> checks = initializeChecks(wildflyConfigFile);
+        PullRequestContent content = PullRequestContent.of(pullRequest,
+                pullRequestSnapshots.get(pullRequestPayload));
         Map<String, String> errors = new HashMap<>();
 
         for (Check check : checks) {
-            String result = check.check(pullRequest);
+            String result;
+            try {
+                result = check.check(content);
+            } catch (RegexTimeoutException e) {
+                LOG.warnf("Check %s failed. %s", check.getName(), e.getMessage());
+                result = "Evaluation of the %s check took too long".formatted(check.getName());
+            }
             if (result != null) {
                 errors.put(check.getName(), result);
             }
@@ -87,11 +101,7 @@ public class PullRequestFormatProcessor {
             String comment = ("WildFly Bot recognized this PR as dependabot dependency update. Please create a %s issue" +
                     " and add new comment containing this JIRA link please.")
                     .formatted(wildflyConfigFile.wildfly.projectKey);
-            if (wildFlyBotConfig.isDryRun()) {
-                LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Add new comment %s"), comment);
-            } else {
-                pullRequest.comment(comment);
-            }
+            writeBehindQueue.submit("Add new comment %s".formatted(comment), () -> pullRequest.comment(comment));
         }
 
     }
@@ -38,7 +38,7 @@ public class PullRequestLabelProcessor {
         List<String> labelsToAdd = new ArrayList<>();
         List<String> labelsToRemove = new ArrayList<>(List.of(LABEL_FIX_ME));
 
-        if (!pullRequest.getMergeable()) {
+        if (!githubProcessor.snapshot(pullRequest).getMergeable()) {
             labelsToAdd.add(LABEL_NEEDS_REBASE);
         } else {
             labelsToRemove.add(LABEL_NEEDS_REBASE);
@@ -1,10 +1,10 @@
 package io.xstefank.wildfly.bot;
 
 import io.quarkiverse.githubapp.event.PullRequestReview;
-import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
-import io.xstefank.wildfly.bot.model.RuntimeConstants;
 import io.xstefank.wildfly.bot.util.GithubProcessor;
+import io.xstefank.wildfly.bot.util.PullRequestLabelWriter;
 import io.xstefank.wildfly.bot.util.PullRequestLogger;
+import io.xstefank.wildfly.bot.util.PullRequestSnapshots;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -13,6 +13,7 @@ import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHPullRequestReview;
 
 import java.io.IOException;
+import java.util.List;
 
 import static io.xstefank.wildfly.bot.model.RuntimeConstants.LABEL_FIX_ME;
 import static org.kohsuke.github.GHPullRequestReviewState.CHANGES_REQUESTED;
@@ -28,7 +29,10 @@ public class PullRequestReviewProcessor {
     GithubProcessor githubProcessor;
 
     @Inject
-    WildFlyBotConfig wildFlyBotConfig;
+    PullRequestSnapshots pullRequestSnapshots;
+
+    @Inject
+    PullRequestLabelWriter pullRequestLabelWriter;
 
     void pullRequestReviewCheck(
             @PullRequestReview.Submitted GHEventPayload.PullRequestReview pullRequestPayload)
@@ -45,14 +49,9 @@ public class PullRequestReviewProcessor {
         }
 
         if (pullRequestReview.getState() == CHANGES_REQUESTED) {
-            if (pullRequest.getLabels().stream().noneMatch(ghLabel -> ghLabel.getName().equals(LABEL_FIX_ME))) {
+            if (!pullRequestSnapshots.get(pullRequest).getLabels().contains(LABEL_FIX_ME)) {
                 LOG.infof("Changes requested, applying following labels: %s.", LABEL_FIX_ME);
-                if (wildFlyBotConfig.isDryRun()) {
-                    LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("The following labels have been applied: %s"),
-                            LABEL_FIX_ME);
-                } else {
-                    pullRequest.addLabels(LABEL_FIX_ME);
-                }
+                pullRequestLabelWriter.addLabels(pullRequest, List.of(LABEL_FIX_ME));
             }
         }
     }
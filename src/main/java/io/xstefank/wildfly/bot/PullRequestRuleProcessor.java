@@ -4,19 +4,28 @@ import io.quarkiverse.githubapp.ConfigFile;
 import io.quarkiverse.githubapp.event.PullRequest;
 import io.xstefank.wildfly.bot.model.RuntimeConstants;
 import io.xstefank.wildfly.bot.model.WildFlyConfigFile;
+import io.xstefank.wildfly.bot.util.CompiledRules;
+import io.xstefank.wildfly.bot.util.CompiledRulesProvider;
 import io.xstefank.wildfly.bot.util.GithubProcessor;
 import io.xstefank.wildfly.bot.util.Matcher;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
+import io.xstefank.wildfly.bot.util.PullRequestLabelWriter;
 import io.xstefank.wildfly.bot.util.PullRequestLogger;
+import io.xstefank.wildfly.bot.util.PullRequestSnapshot;
+import io.xstefank.wildfly.bot.util.PullRequestSnapshots;
+import io.xstefank.wildfly.bot.util.RuleEvaluationCache;
+import io.xstefank.wildfly.bot.util.RuleMatchState;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 import org.kohsuke.github.GHEventPayload;
-import org.kohsuke.github.GHLabel;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -29,6 +38,21 @@ public class PullRequestRuleProcessor {
     @Inject
     GithubProcessor githubProcessor;
 
+    @Inject
+    CompiledRulesProvider compiledRulesProvider;
+
+    @Inject
+    PullRequestSnapshots pullRequestSnapshots;
+
+    @Inject
+    PullRequestLabelWriter pullRequestLabelWriter;
+
+    @Inject
+    RuleEvaluationCache ruleEvaluationCache;
+
+    @Inject
+    RuleMatchState ruleMatchState;
+
     void pullRequestRuleCheck(
             @PullRequest.Edited @PullRequest.Opened @PullRequest.Synchronize @PullRequest.Reopened @PullRequest.ReadyForReview GHEventPayload.PullRequest pullRequestPayload,
             @ConfigFile(RuntimeConstants.CONFIG_FILE_NAME) WildFlyConfigFile wildflyBotConfigFile,
@@ -48,15 +72,35 @@ public class PullRequestRuleProcessor {
         Set<String> reviewers = new HashSet<>();
         Set<String> labels = new HashSet<>();
 
-        for (WildFlyConfigFile.WildFlyRule rule : wildflyBotConfigFile.wildfly.rules) {
-            if (Matcher.notifyRequestReview(pullRequest, rule)) {
+        CompiledRules compiledRules = compiledRulesProvider.get(wildflyBotConfigFile);
+        String cacheKey = null;
+        if (ruleEvaluationCache.isEnabled()) {
+            cacheKey = RuleEvaluationCache.key(repository.getFullName(), pullRequestPayload.getNumber(),
+                    compiledRules.getVersion(), pullRequest.getTitle(), pullRequest.getBody(),
+                    pullRequest.getBase().getRef(), pullRequest.getHead().getSha());
+            if (ruleEvaluationCache.isEvaluated(cacheKey)) {
+                LOG.debug("Rules were already evaluated for the same configuration, title, body, base branch and head"
+                        + " commit. Skipping.");
+                return;
+            }
+        }
+
+        PullRequestSnapshot snapshot = pullRequestSnapshots.get(pullRequestPayload);
+        BitSet commentMatches = Matcher.notifyComment(PullRequestContent.of(pullRequest, snapshot), compiledRules);
+        List<String> changedFiles = compiledRules.hasDirectoryRules()
+                ? snapshot.getFilenames()
+                : List.of();
+        BitSet directoryMatches = Matcher.notifyRequestReview(changedFiles, compiledRules);
+        for (int i = 0; i < compiledRules.getRules().size(); i++) {
+            WildFlyConfigFile.WildFlyRule rule = compiledRules.getRules().get(i).rule;
+            if (directoryMatches.get(i)) {
                 if (!rule.notify.isEmpty()) {
                     LOG.infof("title \"%s\" was matched with a rule, containing notify, with the id: %s.",
                             pullRequest.getTitle(), rule.id != null ? rule.id : "N/A");
                     reviewers.addAll(rule.notify);
                 }
                 labels.addAll(rule.labels);
-            } else if (Matcher.notifyComment(pullRequest, rule)) {
+            } else if (commentMatches.get(i)) {
                 if (!rule.notify.isEmpty()) {
                     LOG.infof("title \"%s\" was matched with a rule, containing notify, with the id: %s.",
                             pullRequest.getTitle(), rule.id != null ? rule.id : "N/A");
@@ -69,18 +113,86 @@ public class PullRequestRuleProcessor {
         ccMentions.remove(pullRequest.getUser().getLogin());
         reviewers.remove(pullRequest.getUser().getLogin());
 
-        githubProcessor.createLabelsIfMissing(repository, labels);
+        String stateKey = null;
+        RuleMatchState.Matches previousMatches = null;
+        BitSet mentionMatches = (BitSet) commentMatches.clone();
+        mentionMatches.andNot(directoryMatches);
+        RuleMatchState.Matches matches = new RuleMatchState.Matches(compiledRules.getVersion(), directoryMatches,
+                mentionMatches);
+        if (ruleMatchState.isEnabled()) {
+            stateKey = WriteBehindQueue.pullRequest(repository.getFullName(), pullRequestPayload.getNumber());
+            previousMatches = ruleMatchState.get(stateKey, compiledRules.getVersion());
+            // remembered before the writes, a dropped write forgets it again
+            ruleMatchState.put(stateKey, matches);
+        }
+        if (cacheKey != null) {
+            ruleEvaluationCache.evaluated(cacheKey);
+        }
+
+        try {
+            if (previousMatches == null) {
+                githubProcessor.createLabelsIfMissing(repository, labels);
+
+                labels.removeAll(snapshot.getLabels());
+
+                if (!labels.isEmpty()) {
+                    LOG.debugf("Adding following labels: %s.", labels);
+                    pullRequestLabelWriter.addLabels(pullRequest, labels);
+                }
 
-        List<String> currentLabels = pullRequest.getLabels().stream()
-                .map(GHLabel::getName)
-                .toList();
-        labels.removeIf(currentLabels::contains);
+                githubProcessor.processNotifies(pullRequest, gitHub, ccMentions, reviewers,
+                        wildflyBotConfigFile.wildfly.emails);
+            } else {
+                updateFlippedRules(pullRequest, gitHub, compiledRules, matches, previousMatches, ccMentions,
+                        reviewers, wildflyBotConfigFile.wildfly.emails);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (stateKey != null) {
+                ruleMatchState.invalidate(stateKey);
+            }
+            if (cacheKey != null) {
+                ruleEvaluationCache.invalidate(cacheKey);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Touches only the labels, mentions and reviewers of the rules which flipped since the previous evaluation.
+     */
+    private void updateFlippedRules(GHPullRequest pullRequest, GitHub gitHub,
+            CompiledRules compiledRules, RuleMatchState.Matches matches, RuleMatchState.Matches previousMatches,
+            Set<String> ccMentions, Set<String> reviewers, List<String> emails) throws IOException {
+        BitSet addedRules = matches.addedRules(previousMatches);
+        BitSet flippedReviewRules = matches.flippedReviewRules(previousMatches);
+        BitSet flippedMentionRules = matches.flippedMentionRules(previousMatches);
+        if (addedRules.isEmpty() && flippedReviewRules.isEmpty() && flippedMentionRules.isEmpty()) {
+            LOG.debug("No rule flipped since the previous evaluation, nothing to update.");
+            return;
+        }
+
+        Set<String> addedLabels = new HashSet<>();
+        for (int i = addedRules.nextSetBit(0); i >= 0; i = addedRules.nextSetBit(i + 1)) {
+            addedLabels.addAll(compiledRules.getRules().get(i).rule.labels);
+        }
+        if (!addedLabels.isEmpty()) {
+            githubProcessor.createLabelsIfMissing(pullRequest.getRepository(), addedLabels);
+            LOG.debugf("Adding following labels: %s.", addedLabels);
+            pullRequestLabelWriter.addLabels(pullRequest, addedLabels);
+        }
 
-        if (!labels.isEmpty()) {
-            LOG.debugf("Adding following labels: %s.", labels);
-            pullRequest.addLabels(labels.toArray(String[]::new));
+        Set<String> addedReviewers = new HashSet<>();
+        BitSet addedReviewRules = matches.getReviewRules();
+        addedReviewRules.and(flippedReviewRules);
+        for (int i = addedReviewRules.nextSetBit(0); i >= 0; i = addedReviewRules.nextSetBit(i + 1)) {
+            addedReviewers.addAll(compiledRules.getRules().get(i).rule.notify);
         }
+        addedReviewers.retainAll(reviewers);
 
-        githubProcessor.processNotifies(pullRequest, gitHub, ccMentions, reviewers, wildflyBotConfigFile.wildfly.emails);
+        // requested reviewers are never mentioned, so flipped review rules may change the mentions too
+        Set<String> mentions = new HashSet<>(ccMentions);
+        mentions.removeAll(reviewers);
+        githubProcessor.updateCCMentions(pullRequest, mentions);
+        githubProcessor.requestReviewers(pullRequest, gitHub, addedReviewers, emails);
     }
 }
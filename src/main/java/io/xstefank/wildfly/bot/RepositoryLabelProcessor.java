@@ -0,0 +1,32 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.event.Label;
+import io.xstefank.wildfly.bot.util.RepositoryLabelCache;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.kohsuke.github.GHEventPayload;
+
+/**
+ * Keeps the {@link RepositoryLabelCache} in sync with the labels created, renamed and deleted in the repository.
+ */
+@RequestScoped
+public class RepositoryLabelProcessor {
+
+    @Inject
+    RepositoryLabelCache repositoryLabelCache;
+
+    void labelCreated(@Label.Created GHEventPayload.Label labelPayload) {
+        repositoryLabelCache.created(labelPayload.getRepository(), labelPayload.getLabel().getName());
+    }
+
+    void labelEdited(@Label.Edited GHEventPayload.Label labelPayload) {
+        String name = labelPayload.getLabel().getName();
+        if (labelPayload.getChanges() != null && labelPayload.getChanges().getName() != null) {
+            repositoryLabelCache.renamed(labelPayload.getRepository(), labelPayload.getChanges().getName().getFrom(), name);
+        }
+    }
+
+    void labelDeleted(@Label.Deleted GHEventPayload.Label labelPayload) {
+        repositoryLabelCache.deleted(labelPayload.getRepository(), labelPayload.getLabel().getName());
+    }
+}
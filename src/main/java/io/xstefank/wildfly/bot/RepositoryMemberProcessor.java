@@ -0,0 +1,35 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.vertx.core.json.JsonObject;
+import io.xstefank.wildfly.bot.util.CollaboratorCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Drops the remembered collaborator status of users added to, changed in or removed from the repository.
+ * <p>
+ * Neither the GitHub App extension nor the GitHub API library define the {@code member} event, so it is observed
+ * among all the delivered events and read from the raw payload.
+ */
+@ApplicationScoped
+public class RepositoryMemberProcessor {
+
+    static final String MEMBER_EVENT = "member";
+
+    @Inject
+    CollaboratorCache collaboratorCache;
+
+    void memberChanged(@Observes GitHubEvent event) {
+        if (!MEMBER_EVENT.equals(event.getEvent())) {
+            return;
+        }
+        JsonObject payload = event.getParsedPayload();
+        JsonObject repository = payload.getJsonObject("repository");
+        JsonObject member = payload.getJsonObject("member");
+        if (repository != null && member != null) {
+            collaboratorCache.invalidate(repository.getString("full_name"), member.getString("login"));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @ConfigMapping(prefix = "wildfly-bot")
@@ -21,4 +22,131 @@ public interface WildFlyBotConfig {
     @WithName("mergable-status-update.timeout")
     @WithDefault("30")
     int timeout();
+
+    @WithName("rule-cache.size")
+    @WithDefault("256")
+    int ruleCacheSize();
+
+    @WithName("changed-files-cache.size")
+    @WithDefault("512")
+    int changedFilesCacheSize();
+
+    @WithName("rule-state-cache.size")
+    @WithDefault("512")
+    int ruleStateCacheSize();
+
+    @WithName("label-cache.size")
+    @WithDefault("64")
+    int labelCacheSize();
+
+    @WithName("label-cache.ttl")
+    @WithDefault("1h")
+    Duration labelCacheTtl();
+
+    @WithName("collaborator-cache.size")
+    @WithDefault("1024")
+    int collaboratorCacheSize();
+
+    @WithName("collaborator-cache.ttl")
+    @WithDefault("6h")
+    Duration collaboratorCacheTtl();
+
+    @WithName("comment-index.size")
+    @WithDefault("2048")
+    int commentIndexSize();
+
+    @WithName("comment-index.ttl")
+    @WithDefault("1h")
+    Duration commentIndexTtl();
+
+    @WithName("commit-status-cache.size")
+    @WithDefault("1024")
+    int commitStatusCacheSize();
+
+    @WithName("write-behind.enabled")
+    @WithDefault("true")
+    boolean writeBehindEnabled();
+
+    @WithName("write-behind.threads")
+    @WithDefault("4")
+    int writeBehindThreads();
+
+    @WithName("write-behind.max-attempts")
+    @WithDefault("5")
+    int writeBehindMaxAttempts();
+
+    @WithName("write-behind.backoff")
+    @WithDefault("1s")
+    Duration writeBehindBackoff();
+
+    @WithName("installation-clients.enabled")
+    @WithDefault("true")
+    boolean installationClientsEnabled();
+
+    @WithName("installation-clients.refresh-before-expiry")
+    @WithDefault("10m")
+    Duration installationClientsRefreshBeforeExpiry();
+
+    @WithName("http-client.enabled")
+    @WithDefault("true")
+    boolean httpClientEnabled();
+
+    @WithName("http-client.max-concurrent-requests-per-host")
+    @WithDefault("32")
+    int httpClientMaxConcurrentRequestsPerHost();
+
+    @WithName("http-client.connect-timeout")
+    @WithDefault("10s")
+    Duration httpClientConnectTimeout();
+
+    @WithName("http-client.request-timeout")
+    @WithDefault("30s")
+    Duration httpClientRequestTimeout();
+
+    @WithName("circuit-breaker.enabled")
+    @WithDefault("true")
+    boolean circuitBreakerEnabled();
+
+    @WithName("circuit-breaker.request-volume")
+    @WithDefault("20")
+    int circuitBreakerRequestVolume();
+
+    @WithName("circuit-breaker.failure-ratio")
+    @WithDefault("0.5")
+    double circuitBreakerFailureRatio();
+
+    @WithName("circuit-breaker.delay")
+    @WithDefault("30s")
+    Duration circuitBreakerDelay();
+
+    @WithName("bulkhead.interactive")
+    @WithDefault("32")
+    int bulkheadInteractive();
+
+    @WithName("bulkhead.background")
+    @WithDefault("8")
+    int bulkheadBackground();
+
+    @WithName("bulkhead.max-wait")
+    @WithDefault("1s")
+    Duration bulkheadMaxWait();
+
+    @WithName("http-cache.size")
+    @WithDefault("2048")
+    int httpCacheSize();
+
+    /**
+     * Read at build time only, see {@link io.xstefank.wildfly.bot.util.CustomizedGitHubService}.
+     */
+    @WithName("client-customization.enabled")
+    @WithDefault("true")
+    boolean clientCustomizationEnabled();
+
+    @WithName("rate-limit.background-reserve")
+    @WithDefault("20")
+    int backgroundReserve();
+
+    @WithName("graphql-loader.enabled")
+    @WithDefault("false")
+    boolean graphqlLoaderEnabled();
 }
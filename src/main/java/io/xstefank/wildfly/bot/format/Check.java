@@ -1,6 +1,6 @@
 package io.xstefank.wildfly.bot.format;
 
-import org.kohsuke.github.GHPullRequest;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
 
 import java.io.IOException;
 
@@ -13,10 +13,10 @@ public interface Check {
      * Performs any custom validation of the pull request. This method
      * is invoked when the PR is updated (GitHub PR events)
      *
-     * @param pullRequest pull request JSON as received from GitHub
+     * @param pullRequest content of the pull request
      * @return null if check passed, error message otherwise
      */
-    String check(GHPullRequest pullRequest) throws IOException;
+    String check(PullRequestContent pullRequest) throws IOException;
 
     String getName();
 }
@@ -2,9 +2,8 @@ package io.xstefank.wildfly.bot.format;
 
 import io.xstefank.wildfly.bot.model.RegexDefinition;
 import io.xstefank.wildfly.bot.util.Patterns;
-import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestCommitDetail;
-import org.kohsuke.github.PagedIterable;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
+import java.util.List;
 import java.util.regex.Pattern;
 import java.io.IOException;
 
@@ -24,26 +23,24 @@ public class CommitMessagesCheck implements Check {
     }
 
     @Override
-    public String check(GHPullRequest pullRequest) throws IOException {
-        if (pullRequest.getUser().getLogin().equals(DEPENDABOT)) {
+    public String check(PullRequestContent pullRequest) throws IOException {
+        if (pullRequest.getAuthor().equals(DEPENDABOT)) {
             // skip for dependabot for now
             return null;
         }
 
-        PagedIterable<GHPullRequestCommitDetail> commits = pullRequest.listCommits();
+        List<PullRequestContent.Commit> commits = pullRequest.getCommits();
         if (commits != null) {
             boolean oneMatched = false;
-            for (GHPullRequestCommitDetail commit : commits) {
-                if (commit.getCommit() != null) {
-                    String commitMessage = commit.getCommit().getMessage();
-                    if (commitMessage.isEmpty()) {
-                        return commit.getSha() + ": Commit message is Empty";
-                    }
-
-                    if (Patterns.matches(pattern, commitMessage)) {
-                        oneMatched = true;
-                        break;
-                    }
+            for (PullRequestContent.Commit commit : commits) {
+                String commitMessage = commit.getMessage();
+                if (commitMessage.isEmpty()) {
+                    return commit.getSha() + ": Commit message is Empty";
+                }
+
+                if (Patterns.matches(pattern, commitMessage)) {
+                    oneMatched = true;
+                    break;
                 }
             }
             if (!oneMatched) {
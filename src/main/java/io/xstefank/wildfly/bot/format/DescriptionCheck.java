@@ -2,13 +2,15 @@ package io.xstefank.wildfly.bot.format;
 
 import io.xstefank.wildfly.bot.model.Description;
 import io.xstefank.wildfly.bot.model.RegexDefinition;
-import org.kohsuke.github.GHPullRequest;
+import io.xstefank.wildfly.bot.util.Patterns;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
+import io.xstefank.wildfly.bot.util.RegexTimeoutException;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class DescriptionCheck implements Check {
     static final String DEFAULT_MESSAGE = "Invalid description content";
+    static final String TIMEOUT_MESSAGE = "Description could not be verified, evaluation of the regex \"%s\" took too long";
 
     private Description description;
     private String message = DEFAULT_MESSAGE;
@@ -29,7 +31,7 @@ public class DescriptionCheck implements Check {
     }
 
     @Override
-    public String check(GHPullRequest pullRequest) {
+    public String check(PullRequestContent pullRequest) {
         try {
             String body = pullRequest.getBody();
             String[] lines = body.split("\\r?\\n");
@@ -39,8 +41,7 @@ public class DescriptionCheck implements Check {
 
                 boolean regexMatched = false;
                 for (String line : lines) {
-                    Matcher matcher = pattern.matcher(line);
-                    if (matcher.find()) {
+                    if (Patterns.find(pattern, line)) {
                         regexMatched = true;
                         break;
                     }
@@ -52,6 +53,8 @@ public class DescriptionCheck implements Check {
             }
         } catch (NullPointerException e) {
             return message;
+        } catch (RegexTimeoutException e) {
+            return TIMEOUT_MESSAGE.formatted(e.getPattern().pattern());
         }
 
         return null;
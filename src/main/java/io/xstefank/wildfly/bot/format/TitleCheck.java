@@ -2,7 +2,7 @@ package io.xstefank.wildfly.bot.format;
 
 import io.xstefank.wildfly.bot.model.RegexDefinition;
 import io.xstefank.wildfly.bot.util.Patterns;
-import org.kohsuke.github.GHPullRequest;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
 
 import java.util.regex.Pattern;
 
@@ -20,7 +20,7 @@ public class TitleCheck implements Check {
     }
 
     @Override
-    public String check(GHPullRequest pullRequest) {
+    public String check(PullRequestContent pullRequest) {
         if (!Patterns.matches(pattern, pullRequest.getTitle())) {
             return message.formatted(pattern.pattern());
         }
@@ -0,0 +1,54 @@
+package io.xstefank.wildfly.bot.util;
+
+import java.io.IOException;
+
+/**
+ * Priority of the GitHub API calls made by the current thread. Calls are {@link #INTERACTIVE} unless they are made
+ * inside {@link #background(IOCallable)}, see {@link GitHubRateLimitBudget} for how the priority is used.
+ */
+public enum ApiPriority {
+
+    /**
+     * Calls answering an event of a user, e.g. the format and rule checks of a pull request.
+     */
+    INTERACTIVE,
+
+    /**
+     * Calls which may be delayed, e.g. the mergeable status rescans and the startup validation.
+     */
+    BACKGROUND;
+
+    private static final ThreadLocal<ApiPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static ApiPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the priority of the calls made by the current thread.
+     *
+     * @return the previous priority, to be restored afterwards
+     */
+    public static ApiPriority set(ApiPriority priority) {
+        ApiPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        return previous;
+    }
+
+    /**
+     * Runs the given action with the {@link #BACKGROUND} priority.
+     */
+    public static <T> T background(IOCallable<T> action) throws IOException {
+        ApiPriority previous = set(BACKGROUND);
+        try {
+            return action.call();
+        } finally {
+            set(previous);
+        }
+    }
+
+    @FunctionalInterface
+    public interface IOCallable<T> {
+        T call() throws IOException;
+    }
+}
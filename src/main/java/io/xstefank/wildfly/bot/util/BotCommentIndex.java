@@ -0,0 +1,125 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the comments of the bot on recently processed pull requests, so that finding e.g. the {@code /cc} comment
+ * does not page through all comments of the pull request for every event. Each entry maps a repository, a pull
+ * request and a kind of comment, i.e. the prefix of its body, to the id and the body of the comment, or records
+ * that there is no such comment.
+ * <p>
+ * Entries are updated whenever the bot creates, updates or deletes its comments, and are otherwise filled from a
+ * single listing of the comments. A comment of the bot may still be deleted or edited by someone else, thus the
+ * entries of a pull request are dropped on such {@code issue_comment} events, and every entry expires after
+ * {@code wildfly-bot.comment-index.ttl} in case an event was missed.
+ * <p>
+ * The number of remembered comments is configured by {@code wildfly-bot.comment-index.size}, {@code 0} disables the
+ * index.
+ */
+@ApplicationScoped
+public class BotCommentIndex {
+
+    /**
+     * Recorded for comments which do not exist.
+     */
+    static final Entry ABSENT = new Entry(0, null);
+
+    private final Map<String, Remembered> index = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Remembered> eldest) {
+            return size() > wildFlyBotConfig.commentIndexSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.commentIndexSize() > 0;
+    }
+
+    public static String key(String repository, int number, String kind) {
+        return repository + "#" + number + "#" + kind;
+    }
+
+    /**
+     * @return the remembered comment, {@link #ABSENT} if there is no such comment, or null if it is not known
+     */
+    public Entry get(String key) {
+        synchronized (index) {
+            Remembered remembered = index.get(key);
+            if (remembered == null) {
+                return null;
+            }
+            if (remembered.expiresAt <= System.currentTimeMillis()) {
+                index.remove(key);
+                return null;
+            }
+            return remembered.entry;
+        }
+    }
+
+    public void put(String key, Entry entry) {
+        if (isEnabled()) {
+            long expiresAt = System.currentTimeMillis() + wildFlyBotConfig.commentIndexTtl().toMillis();
+            synchronized (index) {
+                index.put(key, new Remembered(entry, expiresAt));
+            }
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (index) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Drops the entries of all kinds of comments of the pull request.
+     */
+    public void invalidate(String repository, int number) {
+        String prefix = key(repository, number, "");
+        synchronized (index) {
+            index.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private static final class Remembered {
+
+        private final Entry entry;
+        private final long expiresAt;
+
+        private Remembered(Entry entry, long expiresAt) {
+            this.entry = entry;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Entry {
+
+        private final long commentId;
+        private final String body;
+
+        public Entry(long commentId, String body) {
+            this.commentId = commentId;
+            this.body = body;
+        }
+
+        public boolean isAbsent() {
+            return commentId == 0;
+        }
+
+        public long getCommentId() {
+            return commentId;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.quarkiverse.githubapp.GitHubClientProvider;
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.GHEventPayload;
+import org.kohsuke.github.GHIssueComment;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHRepository;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Finds, creates, updates and deletes the comments of the bot on a pull request. The comments are told apart by
+ * their kind, i.e. the prefix of their body.
+ * <p>
+ * If the {@link BotCommentIndex} is enabled and the installation which delivered the pull request is known, the
+ * comments are looked up in the index and updated or deleted directly by their id, with the REST client of the
+ * installation. Otherwise, or if the remembered comment can not be written anymore, the comments of the pull request
+ * are listed.
+ * <p>
+ * The comments are written through the {@link WriteBehindQueue}, so a pending write of a comment is superseded by a
+ * later write of the comment of the same kind.
+ */
+@Dependent
+public class BotComments {
+
+    private static final Logger LOG = Logger.getLogger(BotComments.class);
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    @Inject
+    BotCommentIndex botCommentIndex;
+
+    @Inject
+    GitHubClientProvider gitHubClientProvider;
+
+    @Inject
+    WriteBehindQueue writeBehindQueue;
+
+    /**
+     * @return the comment of the bot of the given kind, or null if there is no such comment
+     */
+    public BotComment find(GHPullRequest pullRequest, PullRequestSnapshot snapshot, String kind) throws IOException {
+        String key = key(pullRequest, snapshot, kind);
+        if (key != null) {
+            BotCommentIndex.Entry entry = botCommentIndex.get(key);
+            if (entry != null) {
+                return entry.isAbsent() ? null : new BotComment(kind, entry.getCommentId(), entry.getBody(), null);
+            }
+        }
+
+        BotComment comment = list(snapshot, kind);
+        if (key != null) {
+            botCommentIndex.put(key, comment == null ? BotCommentIndex.ABSENT
+                    : new BotCommentIndex.Entry(comment.getCommentId(), comment.getBody()));
+        }
+        return comment;
+    }
+
+    public void create(GHPullRequest pullRequest, PullRequestSnapshot snapshot, String kind, String body)
+            throws IOException {
+        writeBehindQueue.submit(() -> target(pullRequest, kind), "Add new comment %s".formatted(body),
+                () -> createNow(pullRequest, snapshot, kind, body));
+    }
+
+    public void update(GHPullRequest pullRequest, PullRequestSnapshot snapshot, BotComment comment, String body)
+            throws IOException {
+        writeBehindQueue.submit(() -> target(pullRequest, comment.kind),
+                "Update comment \"%s\" to \"%s\"".formatted(comment.getBody(), body),
+                () -> updateNow(pullRequest, snapshot, comment, body));
+    }
+
+    public void delete(GHPullRequest pullRequest, PullRequestSnapshot snapshot, BotComment comment) throws IOException {
+        writeBehindQueue.submit(() -> target(pullRequest, comment.kind), "Delete comment %s".formatted(comment.getBody()),
+                () -> deleteNow(pullRequest, snapshot, comment));
+    }
+
+    private void createNow(GHPullRequest pullRequest, PullRequestSnapshot snapshot, String kind, String body)
+            throws IOException {
+        GHIssueComment created = pullRequest.comment(body);
+        snapshot.commentAdded(created);
+        String key = key(pullRequest, snapshot, kind);
+        if (key != null) {
+            if (created != null) {
+                botCommentIndex.put(key, new BotCommentIndex.Entry(created.getId(), body));
+            } else {
+                botCommentIndex.invalidate(key);
+            }
+        }
+    }
+
+    private void updateNow(GHPullRequest pullRequest, PullRequestSnapshot snapshot, BotComment comment, String body)
+            throws IOException {
+        if (comment.comment == null) {
+            try {
+                remembered(pullRequest, snapshot, comment).update(body);
+            } catch (IOException e) {
+                LOG.debugf(e, "Unable to update the remembered comment %d, listing the comments", comment.getCommentId());
+                botCommentIndex.invalidate(key(pullRequest, snapshot, comment.kind));
+                BotComment listed = find(pullRequest, snapshot, comment.kind);
+                if (listed == null) {
+                    createNow(pullRequest, snapshot, comment.kind, body);
+                } else {
+                    updateNow(pullRequest, snapshot, listed, body);
+                }
+                return;
+            }
+        } else {
+            comment.comment.update(body);
+        }
+
+        String key = key(pullRequest, snapshot, comment.kind);
+        if (key != null) {
+            botCommentIndex.put(key, new BotCommentIndex.Entry(comment.getCommentId(), body));
+        }
+    }
+
+    private void deleteNow(GHPullRequest pullRequest, PullRequestSnapshot snapshot, BotComment comment)
+            throws IOException {
+        if (comment.comment == null) {
+            try {
+                GHIssueComment remembered = remembered(pullRequest, snapshot, comment);
+                remembered.delete();
+                snapshot.commentDeleted(remembered);
+            } catch (IOException e) {
+                LOG.debugf(e, "Unable to delete the remembered comment %d, listing the comments", comment.getCommentId());
+                botCommentIndex.invalidate(key(pullRequest, snapshot, comment.kind));
+                BotComment listed = find(pullRequest, snapshot, comment.kind);
+                if (listed != null) {
+                    deleteNow(pullRequest, snapshot, listed);
+                }
+                return;
+            }
+        } else {
+            comment.comment.delete();
+            snapshot.commentDeleted(comment.comment);
+        }
+
+        String key = key(pullRequest, snapshot, comment.kind);
+        if (key != null) {
+            botCommentIndex.put(key, BotCommentIndex.ABSENT);
+        }
+    }
+
+    /**
+     * @return target of the writes of the comment in the {@link WriteBehindQueue}, the comment of each kind is
+     *         written by the last submitted write only
+     */
+    private static String target(GHPullRequest pullRequest, String kind) {
+        return WriteBehindQueue.pullRequestTarget(pullRequest.getRepository().getFullName(), pullRequest.getNumber(),
+                "comment:" + kind);
+    }
+
+    /**
+     * @return key of the comment in the index, or null if the index can not be used for the pull request
+     */
+    private String key(GHPullRequest pullRequest, PullRequestSnapshot snapshot, String kind) {
+        if (!botCommentIndex.isEnabled() || snapshot.getInstallationId() == null) {
+            return null;
+        }
+        return BotCommentIndex.key(pullRequest.getRepository().getFullName(), pullRequest.getNumber(), kind);
+    }
+
+    private BotComment list(PullRequestSnapshot snapshot, String kind) throws IOException {
+        for (GHIssueComment comment : snapshot.getComments()) {
+            if (comment.getUser().getLogin().equals(wildFlyBotConfig.githubName())
+                    && comment.getBody().startsWith(kind)) {
+                return new BotComment(kind, 0, comment.getBody(), comment);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the remembered comment bound to the client of the installation, so that it is updated or deleted
+     *         through the same connectors as every other call, without being fetched first. The library binds a
+     *         comment to its client only when the comment is read, hence the comment is read from a minimal
+     *         {@code issue_comment} payload.
+     */
+    private GHIssueComment remembered(GHPullRequest pullRequest, PullRequestSnapshot snapshot, BotComment comment)
+            throws IOException {
+        GHRepository repository = pullRequest.getRepository();
+        String payload = Json.createObjectBuilder()
+                .add("comment", Json.createObjectBuilder()
+                        .add("id", comment.getCommentId())
+                        .add("body", comment.getBody()))
+                .add("issue", Json.createObjectBuilder()
+                        .add("number", pullRequest.getNumber()))
+                .add("repository", Json.createObjectBuilder()
+                        .add("name", repository.getName())
+                        .add("full_name", repository.getFullName())
+                        .add("owner", Json.createObjectBuilder()
+                                .add("login", repository.getOwnerName())))
+                .build().toString();
+        return gitHubClientProvider.getInstallationClient(snapshot.getInstallationId())
+                .parseEventPayload(new StringReader(payload), GHEventPayload.IssueComment.class).getComment();
+    }
+
+    /**
+     * Comment of the bot, either listed or remembered by the {@link BotCommentIndex}.
+     */
+    public static final class BotComment {
+
+        private final String kind;
+        private final long commentId;
+        private final String body;
+        private final GHIssueComment comment;
+
+        private BotComment(String kind, long commentId, String body, GHIssueComment comment) {
+            this.kind = kind;
+            this.commentId = commentId;
+            this.body = body;
+            this.comment = comment;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        private long getCommentId() {
+            return comment != null ? comment.getId() : commentId;
+        }
+    }
+}
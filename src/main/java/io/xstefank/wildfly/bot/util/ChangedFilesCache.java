@@ -0,0 +1,168 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCompare;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestFileDetail;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the changed files of recently processed pull requests together with the head commit they were computed for.
+ * When new commits are pushed to a pull request, only the files touched between the remembered head and the new
+ * head are fetched through the compare API and merged into the remembered files, instead of paging through
+ * {@code listFiles} again.
+ * <p>
+ * The pull request is listed in full if it is not remembered, its base branch changed, the new head is not a
+ * fast-forward of the remembered one (i.e. a force-push), the compare contains a merge commit, or the compare
+ * result might be truncated. The merged set may contain a file whose changes were reverted by a later commit
+ * until the next full listing.
+ * <p>
+ * The number of remembered pull requests is configured by {@code wildfly-bot.changed-files-cache.size},
+ * {@code 0} disables the cache.
+ */
+@ApplicationScoped
+public class ChangedFilesCache {
+
+    private static final Logger LOG = Logger.getLogger(ChangedFilesCache.class);
+
+    /**
+     * The compare API returns at most 300 files and 250 commits.
+     */
+    private static final int MAX_COMPARE_FILES = 300;
+    private static final int MAX_COMPARE_COMMITS = 250;
+
+    private static final String ADDED = "added";
+    private static final String REMOVED = "removed";
+    private static final String RENAMED = "renamed";
+    private static final String MODIFIED = "modified";
+
+    private final Map<String, ChangedFiles> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ChangedFiles> eldest) {
+            return size() > wildFlyBotConfig.changedFilesCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.changedFilesCacheSize() > 0;
+    }
+
+    /**
+     * @return names of the files changed by the pull request at its current head
+     */
+    public List<String> filenames(GHPullRequest pullRequest) {
+        String key = pullRequest.getRepository().getFullName() + "#" + pullRequest.getNumber();
+        String head = pullRequest.getHead().getSha();
+        String base = pullRequest.getBase().getRef();
+
+        ChangedFiles cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+
+        ChangedFiles changedFiles = null;
+        if (cached != null && Objects.equals(cached.base, base)) {
+            changedFiles = Objects.equals(cached.head, head) ? cached : merge(pullRequest, cached, head);
+        }
+        if (changedFiles == null) {
+            changedFiles = list(pullRequest, head, base);
+        }
+
+        synchronized (cache) {
+            cache.put(key, changedFiles);
+        }
+        return changedFiles.filenames;
+    }
+
+    private static ChangedFiles list(GHPullRequest pullRequest, String head, String base) {
+        LOG.debugf("Listing all files of pull request #%d", pullRequest.getNumber());
+        Map<String, String> statuses = new LinkedHashMap<>();
+        for (GHPullRequestFileDetail file : pullRequest.listFiles()) {
+            statuses.put(file.getFilename(), file.getStatus());
+        }
+        return new ChangedFiles(head, base, statuses);
+    }
+
+    /**
+     * @return the changed files at the new head, or null if they can not be computed from the compare
+     */
+    private static ChangedFiles merge(GHPullRequest pullRequest, ChangedFiles cached, String head) {
+        GHCompare compare;
+        try {
+            compare = pullRequest.getRepository().getCompare(cached.head, head);
+        } catch (IOException e) {
+            LOG.debugf(e, "Unable to compare %s...%s of pull request #%d", cached.head, head, pullRequest.getNumber());
+            return null;
+        }
+
+        if (compare.getStatus() != GHCompare.Status.ahead) {
+            LOG.debugf("Head of pull request #%d moved from %s to %s with status %s", pullRequest.getNumber(),
+                    cached.head, head, compare.getStatus());
+            return null;
+        }
+        GHCommit.File[] files = compare.getFiles();
+        if (files == null || files.length >= MAX_COMPARE_FILES || compare.getTotalCommits() >= MAX_COMPARE_COMMITS) {
+            return null;
+        }
+        for (GHCompare.Commit commit : compare.getCommits()) {
+            if (commit.getParentSHA1s().size() > 1) {
+                // merging the base branch in brings files which are not changed by the pull request
+                return null;
+            }
+        }
+
+        Map<String, String> statuses = new LinkedHashMap<>(cached.statuses);
+        for (GHCommit.File file : files) {
+            switch (file.getStatus() == null ? MODIFIED : file.getStatus()) {
+                case REMOVED -> remove(statuses, file.getFileName());
+                case RENAMED -> {
+                    remove(statuses, file.getPreviousFilename());
+                    statuses.put(file.getFileName(), ADDED);
+                }
+                case ADDED -> statuses.merge(file.getFileName(), ADDED,
+                        (previous, added) -> REMOVED.equals(previous) ? MODIFIED : previous);
+                default -> statuses.putIfAbsent(file.getFileName(), MODIFIED);
+            }
+        }
+        LOG.debugf("Merged %d files touched by %s...%s into the changed files of pull request #%d", files.length,
+                cached.head, head, pullRequest.getNumber());
+        return new ChangedFiles(head, cached.base, statuses);
+    }
+
+    /**
+     * A file added by the pull request and removed again is not changed anymore.
+     */
+    private static void remove(Map<String, String> statuses, String filename) {
+        if (ADDED.equals(statuses.get(filename))) {
+            statuses.remove(filename);
+        } else {
+            statuses.put(filename, REMOVED);
+        }
+    }
+
+    private static final class ChangedFiles {
+        private final String head;
+        private final String base;
+        private final Map<String, String> statuses;
+        private final List<String> filenames;
+
+        private ChangedFiles(String head, String base, Map<String, String> statuses) {
+            this.head = head;
+            this.base = base;
+            this.statuses = statuses;
+            this.filenames = List.copyOf(statuses.keySet());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends every request through the {@link GitHubBulkheads} of the priority of the calling thread and the
+ * {@link GitHubCircuitBreaker}, and records its result in the breaker. A request which times out counts as a failure.
+ * <p>
+ * The slot of the bulkhead is held until the response is closed, as its body is only read afterwards.
+ */
+public class CircuitBreakerConnector implements GitHubConnector {
+
+    private final GitHubConnector delegate;
+    private final GitHubCircuitBreaker circuitBreaker;
+    private final GitHubBulkheads bulkheads;
+
+    public CircuitBreakerConnector(GitHubConnector delegate, GitHubCircuitBreaker circuitBreaker,
+            GitHubBulkheads bulkheads) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        ApiPriority priority = ApiPriority.current();
+        bulkheads.acquire(priority);
+        try {
+            circuitBreaker.acquirePermission();
+            GitHubConnectorResponse response;
+            try {
+                response = delegate.send(request);
+            } catch (HttpTimeoutException | SocketTimeoutException e) {
+                // GitHub did not answer in time
+                circuitBreaker.onFailure();
+                throw e;
+            } catch (InterruptedIOException | GitHubUnavailableException e) {
+                // not sent, so it tells nothing about GitHub
+                circuitBreaker.onCancelled();
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+
+            if (response.statusCode() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return new BulkheadResponse(response, priority);
+        } catch (IOException | RuntimeException e) {
+            bulkheads.release(priority);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the slot of the bulkhead once the response is closed.
+     */
+    private final class BulkheadResponse extends GitHubConnectorResponse {
+
+        private final GitHubConnectorResponse response;
+        private final ApiPriority priority;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private BulkheadResponse(GitHubConnectorResponse response, ApiPriority priority) {
+            super(response.request(), response.statusCode(), response.allHeaders());
+            this.response = response;
+            this.priority = priority;
+        }
+
+        @Override
+        public InputStream bodyStream() throws IOException {
+            return response.bodyStream();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    response.close();
+                } finally {
+                    bulkheads.release(priority);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHUser;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Remembers for each repository the users who were requested as reviewers, together with whether they could be
+ * requested, i.e. whether they are collaborators of the repository.
+ * <p>
+ * Resolved users are reused instead of looking them up again through {@code GitHub#getUser}. Logins which are known
+ * not to be collaborators are skipped without any API call, so that they are not reported repeatedly. An entry
+ * expires after {@code wildfly-bot.collaborator-cache.ttl}, and it is dropped as soon as a {@code member} event
+ * changes the collaborators of the repository.
+ * <p>
+ * The number of remembered users is configured by {@code wildfly-bot.collaborator-cache.size}, {@code 0} disables
+ * the cache.
+ */
+@ApplicationScoped
+public class CollaboratorCache {
+
+    private final Map<String, Collaborator> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Collaborator> eldest) {
+            return size() > wildFlyBotConfig.collaboratorCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.collaboratorCacheSize() > 0;
+    }
+
+    /**
+     * @return the remembered status of the user in the repository, or null if it is not known
+     */
+    public Collaborator get(GHRepository repository, String login) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = key(repository, login);
+        synchronized (cache) {
+            Collaborator collaborator = cache.get(key);
+            if (collaborator != null && collaborator.expiresAt <= System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return collaborator;
+        }
+    }
+
+    public void collaborator(GHRepository repository, String login, GHUser user) {
+        put(repository, login, user);
+    }
+
+    public void nonCollaborator(GHRepository repository, String login) {
+        put(repository, login, null);
+    }
+
+    /**
+     * @param repository full name of the repository, e.g. {@code wildfly/wildfly}
+     */
+    public void invalidate(String repository, String login) {
+        if (isEnabled()) {
+            synchronized (cache) {
+                cache.remove(key(repository, login));
+            }
+        }
+    }
+
+    private void put(GHRepository repository, String login, GHUser user) {
+        if (isEnabled()) {
+            long expiresAt = System.currentTimeMillis() + wildFlyBotConfig.collaboratorCacheTtl().toMillis();
+            synchronized (cache) {
+                cache.put(key(repository, login), new Collaborator(user, expiresAt));
+            }
+        }
+    }
+
+    private static String key(GHRepository repository, String login) {
+        return key(repository.getFullName(), login);
+    }
+
+    private static String key(String repository, String login) {
+        // logins are case insensitive
+        return repository + "@" + login.toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Collaborator {
+
+        private final GHUser user;
+        private final long expiresAt;
+
+        private Collaborator(GHUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isCollaborator() {
+            return user != null;
+        }
+
+        /**
+         * @return the resolved user, or null if the login is not a collaborator
+         */
+        public GHUser getUser() {
+            return user;
+        }
+    }
+}
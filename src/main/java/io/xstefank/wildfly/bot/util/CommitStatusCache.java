@@ -0,0 +1,176 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.GHCommitState;
+import org.kohsuke.github.GHCommitStatus;
+import org.kohsuke.github.GHRepository;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the last commit status of each context on recently processed commits, so that a status which is the
+ * same as the current one is not created again. GitHub keeps every created status, so repeated events for the same
+ * commit would otherwise pile up identical statuses.
+ * <p>
+ * The statuses of a commit which is not remembered are read from the first page of its statuses, newest first. A
+ * context which is not on that page is considered unknown and its status is always created.
+ * <p>
+ * The number of remembered commits is configured by {@code wildfly-bot.commit-status-cache.size}, {@code 0} disables
+ * the cache.
+ * <p>
+ * A status is remembered as soon as its write is submitted to the {@link WriteBehindQueue}, so that a repeated event
+ * does not submit it again while it is pending. It is forgotten if the write is dropped.
+ */
+@ApplicationScoped
+public class CommitStatusCache {
+
+    private static final Logger LOG = Logger.getLogger(CommitStatusCache.class);
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final String TARGET_PREFIX = "status:";
+
+    private final Map<String, Map<String, Status>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Status>> eldest) {
+            return size() > wildFlyBotConfig.commitStatusCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.commitStatusCacheSize() > 0;
+    }
+
+    /**
+     * @return whether the last status of the context on the commit has the given state and description
+     */
+    public boolean isWritten(GHRepository repository, String sha, String context, GHCommitState state,
+            String description) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        String key = key(repository, sha);
+        Map<String, Status> statuses;
+        synchronized (cache) {
+            statuses = cache.get(key);
+        }
+        if (statuses == null) {
+            Map<String, Status> listed = list(repository, sha);
+            synchronized (cache) {
+                statuses = cache.computeIfAbsent(key, k -> listed);
+            }
+        }
+        synchronized (statuses) {
+            return new Status(state, description).equals(statuses.get(context));
+        }
+    }
+
+    /**
+     * Remembers the status whose write is submitted.
+     */
+    public void written(GHRepository repository, String sha, String context, GHCommitState state, String description) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        String key = key(repository, sha);
+        Map<String, Status> statuses;
+        synchronized (cache) {
+            statuses = cache.computeIfAbsent(key, k -> new HashMap<>());
+        }
+        synchronized (statuses) {
+            statuses.put(context, new Status(state, description));
+        }
+    }
+
+    /**
+     * @return target of the write of the status of the context on the commit in the {@link WriteBehindQueue}
+     */
+    public static String target(GHRepository repository, String sha, String context) {
+        return TARGET_PREFIX + key(repository, sha) + "#" + context;
+    }
+
+    /**
+     * Forgets the status whose write was dropped, so that it is written again by the next event.
+     */
+    void onDropped(@Observes WriteBehindQueue.Dropped dropped) {
+        String target = dropped.getTarget();
+        if (!isEnabled() || !target.startsWith(TARGET_PREFIX)) {
+            return;
+        }
+
+        // neither the name of the repository nor the sha contain a '#'
+        int separator = target.indexOf('#');
+        String key = target.substring(TARGET_PREFIX.length(), separator);
+        String context = target.substring(separator + 1);
+        Map<String, Status> statuses;
+        synchronized (cache) {
+            statuses = cache.get(key);
+        }
+        if (statuses != null) {
+            synchronized (statuses) {
+                statuses.remove(context);
+            }
+        }
+    }
+
+    private static String key(GHRepository repository, String sha) {
+        return repository.getFullName() + "@" + sha;
+    }
+
+    private static Map<String, Status> list(GHRepository repository, String sha) {
+        Map<String, Status> statuses = new HashMap<>();
+        try {
+            int read = 0;
+            for (GHCommitStatus status : repository.listCommitStatuses(sha).withPageSize(PAGE_SIZE)) {
+                // newest first, so the first status of each context is its current one
+                statuses.putIfAbsent(status.getContext(), new Status(status.getState(), status.getDescription()));
+                if (++read >= PAGE_SIZE) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.debugf(e, "Unable to list the statuses of the commit %s", sha);
+        }
+        return statuses;
+    }
+
+    private static final class Status {
+
+        private final GHCommitState state;
+        private final String description;
+
+        private Status(GHCommitState state, String description) {
+            this.state = state;
+            this.description = description;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Status status)) {
+                return false;
+            }
+            return state == status.state && Objects.equals(description, status.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(state, description);
+        }
+    }
+}
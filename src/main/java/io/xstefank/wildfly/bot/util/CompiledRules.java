@@ -0,0 +1,286 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable, precompiled representation of the {@code rules} section of the configuration file.
+ * <p>
+ * {@code title}, {@code body} and {@code titleBody} expressions which are plain words are collected
+ * into a single {@link KeywordAutomaton}, so the title and the body are scanned only once per event
+ * regardless of the number of rules. The remaining expressions are word-wrapped and compiled exactly once.
+ * Likewise, all {@code directories} are indexed in one {@link DirectoryTrie}.
+ * <p>
+ * Instances are obtained through {@link CompiledRulesProvider}, which reuses them until the rules change.
+ */
+public final class CompiledRules {
+
+    private static final Logger LOG = Logger.getLogger(CompiledRules.class);
+
+    private final String version;
+    private final List<CompiledRule> rules;
+    private final KeywordAutomaton keywords;
+    private final int[][] titleRulesByKeyword;
+    private final int[][] bodyRulesByKeyword;
+    private final int[][] titleBodyRulesByKeyword;
+    private final int[] regexRules;
+    private final DirectoryTrie directories;
+    private final boolean directoryRules;
+
+    private CompiledRules(String version, List<WildFlyRule> rules) {
+        this.version = version;
+
+        Map<String, Integer> keywordIds = new LinkedHashMap<>();
+        List<List<Integer>> titleRules = new ArrayList<>();
+        List<List<Integer>> bodyRules = new ArrayList<>();
+        List<List<Integer>> titleBodyRules = new ArrayList<>();
+        List<Integer> regexRuleIndexes = new ArrayList<>();
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+
+        for (int i = 0; i < rules.size(); i++) {
+            WildFlyRule rule = rules.get(i);
+            CompiledRule compiledRule = new CompiledRule(rule);
+            compiled.add(compiledRule);
+
+            for (Expression expression : Expression.values()) {
+                String value = expression.of(rule);
+                if (KeywordAutomaton.isLiteral(value)) {
+                    int id = keywordIds.computeIfAbsent(value.toLowerCase(Locale.ROOT), keyword -> {
+                        titleRules.add(new ArrayList<>());
+                        bodyRules.add(new ArrayList<>());
+                        titleBodyRules.add(new ArrayList<>());
+                        return keywordIds.size();
+                    });
+                    (switch (expression) {
+                        case TITLE -> titleRules;
+                        case BODY -> bodyRules;
+                        case TITLE_BODY -> titleBodyRules;
+                    }).get(id).add(i);
+                }
+            }
+            if (compiledRule.hasRegex()) {
+                regexRuleIndexes.add(i);
+            }
+        }
+
+        this.rules = List.copyOf(compiled);
+        this.keywords = keywordIds.isEmpty() ? null : KeywordAutomaton.build(List.copyOf(keywordIds.keySet()));
+        this.titleRulesByKeyword = toArray(titleRules);
+        this.bodyRulesByKeyword = toArray(bodyRules);
+        this.titleBodyRulesByKeyword = toArray(titleBodyRules);
+        this.regexRules = regexRuleIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.directories = DirectoryTrie.build(rules);
+        this.directoryRules = rules.stream().anyMatch(rule -> !rule.directories.isEmpty());
+    }
+
+    public static CompiledRules compile(List<WildFlyRule> rules) {
+        return compile(version(rules), rules);
+    }
+
+    static CompiledRules compile(String version, List<WildFlyRule> rules) {
+        return new CompiledRules(version, rules);
+    }
+
+    /**
+     * Computes a fingerprint of the rules, which changes whenever any field of any rule changes. Every string and
+     * list is prefixed by its length, and a missing value by {@code -1}, so that different rules never share the
+     * same encoding, e.g. the directories {@code ["a, b"]} and {@code ["a", "b"]}, or a {@code null} title and the
+     * title {@code "null"}.
+     */
+    public static String version(List<WildFlyRule> rules) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, rules.size());
+            for (WildFlyRule rule : rules) {
+                update(digest, rule.id);
+                update(digest, rule.title);
+                update(digest, rule.body);
+                update(digest, rule.titleBody);
+                update(digest, rule.directories);
+                update(digest, rule.notify);
+                update(digest, rule.labels);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, List<String> values) {
+        if (values == null) {
+            update(digest, -1);
+            return;
+        }
+        update(digest, values.size());
+        for (String value : values) {
+            update(digest, value);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            update(digest, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        update(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void update(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * @return true if at least one rule declares {@code directories}, i.e. the changed files are needed
+     */
+    public boolean hasDirectoryRules() {
+        return directoryRules;
+    }
+
+    /**
+     * Evaluates {@code title}, {@code body} and {@code titleBody} of all rules at once.
+     *
+     * @return indexes into {@link #getRules()} of the rules matching the given title or body
+     */
+    public BitSet matchComment(String title, String body) {
+        BitSet matched = new BitSet(rules.size());
+
+        if (keywords != null) {
+            BitSet titleHits = keywords.scan(title);
+            for (int k = titleHits.nextSetBit(0); k >= 0; k = titleHits.nextSetBit(k + 1)) {
+                setAll(matched, titleRulesByKeyword[k]);
+                setAll(matched, titleBodyRulesByKeyword[k]);
+            }
+            BitSet bodyHits = keywords.scan(body);
+            for (int k = bodyHits.nextSetBit(0); k >= 0; k = bodyHits.nextSetBit(k + 1)) {
+                setAll(matched, bodyRulesByKeyword[k]);
+                setAll(matched, titleBodyRulesByKeyword[k]);
+            }
+        }
+
+        for (int index : regexRules) {
+            try {
+                if (!matched.get(index) && rules.get(index).matchesRegex(title, body)) {
+                    matched.set(index);
+                }
+            } catch (RegexTimeoutException e) {
+                LOG.warnf("Rule [%s] is considered not matching. %s", rules.get(index).rule.toPrettyString(),
+                        e.getMessage());
+            }
+        }
+
+        return matched;
+    }
+
+    /**
+     * Evaluates {@code directories} of all rules at once.
+     *
+     * @return indexes into {@link #getRules()} of the rules with a directory containing at least one of the files
+     */
+    public BitSet matchDirectories(List<String> changedFiles) {
+        return directoryRules ? directories.match(changedFiles) : new BitSet();
+    }
+
+    /**
+     * Compiles a {@code title}, {@code body} or {@code titleBody} expression the way it is evaluated against pull requests.
+     *
+     * @throws PatternSyntaxException if the expression is not a valid regular expression
+     */
+    public static Pattern compileExpression(String expression) {
+        return Pattern.compile("\\b(" + expression + ")\\b", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    }
+
+    private static void setAll(BitSet bitSet, int[] indexes) {
+        for (int index : indexes) {
+            bitSet.set(index);
+        }
+    }
+
+    private static int[][] toArray(List<List<Integer>> lists) {
+        return lists.stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    private enum Expression {
+        TITLE,
+        BODY,
+        TITLE_BODY;
+
+        String of(WildFlyRule rule) {
+            return switch (this) {
+                case TITLE -> rule.title;
+                case BODY -> rule.body;
+                case TITLE_BODY -> rule.titleBody;
+            };
+        }
+    }
+
+    public static final class CompiledRule {
+
+        public final WildFlyRule rule;
+
+        /**
+         * Compiled expressions which could not be matched as keywords, null otherwise.
+         */
+        private final Pattern title;
+        private final Pattern body;
+        private final Pattern titleBody;
+
+        private CompiledRule(WildFlyRule rule) {
+            this.rule = rule;
+            this.title = compileWordWrapped(rule, rule.title);
+            this.body = compileWordWrapped(rule, rule.body);
+            this.titleBody = compileWordWrapped(rule, rule.titleBody);
+        }
+
+        private boolean hasRegex() {
+            return title != null || body != null || titleBody != null;
+        }
+
+        private boolean matchesRegex(String pullRequestTitle, String pullRequestBody) {
+            return (title != null && Patterns.matches(title, pullRequestTitle))
+                    || (body != null && Patterns.matches(body, pullRequestBody))
+                    || (titleBody != null && (Patterns.matches(titleBody, pullRequestTitle)
+                            || Patterns.matches(titleBody, pullRequestBody)));
+        }
+
+        private static Pattern compileWordWrapped(WildFlyRule rule, String word) {
+            if (Strings.isBlank(word) || KeywordAutomaton.isLiteral(word)) {
+                return null;
+            }
+            try {
+                return compileExpression(word);
+            } catch (PatternSyntaxException e) {
+                LOG.warnf("Rule [%s] contains invalid regular expression \"%s\" and it will never match. %s",
+                        rule.toPrettyString(), word, e.getDescription());
+                return null;
+            }
+        }
+    }
+}
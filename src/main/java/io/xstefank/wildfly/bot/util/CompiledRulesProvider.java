@@ -0,0 +1,46 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The configuration file is deserialized for every incoming event, while its rules change rarely.
+ * This bean keeps the {@link CompiledRules} of the most recently seen configurations, keyed by
+ * {@link CompiledRules#version(java.util.List)}, so that the patterns are only recompiled once
+ * the rules are actually modified.
+ */
+@ApplicationScoped
+public class CompiledRulesProvider {
+
+    private static final Logger LOG = Logger.getLogger(CompiledRulesProvider.class);
+
+    /**
+     * Usually one configuration per installed repository plus the configurations proposed in open pull requests.
+     */
+    private static final int MAX_CACHED_CONFIGURATIONS = 32;
+
+    private final Map<String, CompiledRules> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledRules> eldest) {
+            return size() > MAX_CACHED_CONFIGURATIONS;
+        }
+    };
+
+    public CompiledRules get(WildFlyConfigFile wildFlyConfigFile) {
+        String version = CompiledRules.version(wildFlyConfigFile.wildfly.rules);
+        synchronized (cache) {
+            CompiledRules compiledRules = cache.get(version);
+            if (compiledRules == null) {
+                LOG.debugf("Compiling %d rules for configuration version %s", wildFlyConfigFile.wildfly.rules.size(),
+                        version);
+                compiledRules = CompiledRules.compile(version, wildFlyConfigFile.wildfly.rules);
+                cache.put(version, compiledRules);
+            }
+            return compiledRules;
+        }
+    }
+}
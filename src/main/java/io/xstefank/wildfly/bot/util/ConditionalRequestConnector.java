@@ -0,0 +1,185 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.jboss.logging.Logger;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sends {@code GET} requests with {@code If-None-Match} or {@code If-Modified-Since} when a previous response for
+ * the same URL is in the {@link GitHubResponseCache}. GitHub answers {@code 304 Not Modified} without a body if
+ * the resource did not change, and such a response does not count against the rate limit. The cached body is
+ * then returned as a regular {@code 200} response, with the fresh headers of the {@code 304} response.
+ */
+public class ConditionalRequestConnector implements GitHubConnector {
+
+    private static final Logger LOG = Logger.getLogger(ConditionalRequestConnector.class);
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    /**
+     * Headers describing the cached body, which must not be replaced by the ones of a {@code 304} response.
+     */
+    private static final Set<String> BODY_HEADERS = Set.of("content-length", "content-type", "content-encoding",
+            "transfer-encoding");
+
+    private final GitHubConnector delegate;
+    private final GitHubResponseCache cache;
+
+    public ConditionalRequestConnector(GitHubConnector delegate, GitHubResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        if (!"GET".equals(request.method())
+                || request.header(IF_NONE_MATCH) != null || request.header(IF_MODIFIED_SINCE) != null) {
+            return delegate.send(request);
+        }
+
+        String key = key(request);
+        GitHubResponseCache.CachedResponse cached = cache.get(key);
+        GitHubConnectorResponse response = delegate.send(cached == null ? request : new ConditionalRequest(request, cached));
+
+        if (cached != null && response.statusCode() == 304) {
+            cache.hit();
+            LOG.debugf("Not modified %s [hits: %d, misses: %d]", request.url(), cache.getHits(), cache.getMisses());
+            Map<String, List<String>> headers = headers(cached.headers);
+            response.allHeaders().forEach((name, values) -> {
+                if (name != null && !BODY_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name, values);
+                }
+            });
+            response.close();
+            return new CachedConnectorResponse(request, headers, cached.body);
+        }
+
+        cache.miss();
+        String etag = response.header(ETAG);
+        String lastModified = response.header(LAST_MODIFIED);
+        if (response.statusCode() != 200 || (etag == null && lastModified == null)) {
+            if (cached != null) {
+                cache.remove(key);
+            }
+            return response;
+        }
+
+        byte[] body;
+        try (InputStream bodyStream = response.bodyStream()) {
+            body = bodyStream == null ? new byte[0] : bodyStream.readAllBytes();
+        } finally {
+            response.close();
+        }
+        Map<String, List<String>> headers = headers(response.allHeaders());
+        // the body is already decoded
+        headers.remove("Content-Encoding");
+        headers.remove("Content-Length");
+        cache.put(key, new GitHubResponseCache.CachedResponse(etag, lastModified, headers, body));
+        return new CachedConnectorResponse(request, headers, body);
+    }
+
+    /**
+     * Responses differ by the URL and the requested media type, but not by the credentials. GitHub checks the
+     * access of the current credentials before answering {@code 304}.
+     */
+    private static String key(GitHubConnectorRequest request) {
+        return request.url() + " " + request.header("Accept");
+    }
+
+    private static Map<String, List<String>> headers(Map<String, List<String>> source) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        source.forEach((name, values) -> {
+            if (name != null) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private static final class ConditionalRequest implements GitHubConnectorRequest {
+
+        private final GitHubConnectorRequest request;
+        private final Map<String, List<String>> headers;
+
+        private ConditionalRequest(GitHubConnectorRequest request, GitHubResponseCache.CachedResponse cached) {
+            this.request = request;
+            this.headers = headers(request.allHeaders());
+            if (cached.etag != null) {
+                headers.put(IF_NONE_MATCH, List.of(cached.etag));
+            } else {
+                headers.put(IF_MODIFIED_SINCE, List.of(cached.lastModified));
+            }
+        }
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return Collections.unmodifiableMap(headers);
+        }
+
+        @Override
+        public String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return request.body();
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return request.hasBody();
+        }
+    }
+
+    private static final class CachedConnectorResponse extends GitHubConnectorResponse {
+
+        private final byte[] body;
+
+        private CachedConnectorResponse(GitHubConnectorRequest request, Map<String, List<String>> headers, byte[] body) {
+            super(request, 200, headers);
+            this.body = body;
+        }
+
+        @Override
+        public InputStream bodyStream() {
+            // the body is already decoded, the headers describe it without an encoding
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            // nothing to release, the body is in memory
+        }
+    }
+}
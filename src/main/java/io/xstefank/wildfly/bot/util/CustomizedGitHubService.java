@@ -0,0 +1,85 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.quarkiverse.githubapp.runtime.config.CheckedConfigProvider;
+import io.quarkiverse.githubapp.runtime.github.GitHubService;
+import io.quarkiverse.githubapp.runtime.signing.JwtTokenCreator;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.kohsuke.github.GHAppInstallationToken;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands the installation clients shared by {@link InstallationClients} to the event handlers, so that the API calls
+ * made while handling the events go through the connectors of the {@link GitHubClientCustomizer}. If the shared
+ * clients are disabled, the clients are created like the GitHub App extension does, but customized the same way. Their
+ * installation tokens are cached until shortly before they expire.
+ * <p>
+ * The GitHub App extension 2.1.0 does not offer a way to customize the clients it creates, so this bean replaces its
+ * {@link GitHubService}, whose constructor it depends on. It has to be checked again whenever the extension is
+ * updated.
+ * <p>
+ * {@code wildfly-bot.client-customization.enabled} is a build time property: if it is {@code false} when the
+ * application is built, e.g. in the tests which mock the clients of the extension, this bean is not used. Changing
+ * it at runtime has no effect. {@code wildfly-bot.installation-clients.enabled} on the other hand is read at runtime.
+ */
+@Alternative
+@Priority(1)
+@Singleton
+@IfBuildProperty(name = "wildfly-bot.client-customization.enabled", stringValue = "true", enableIfMissing = true)
+public class CustomizedGitHubService extends GitHubService {
+
+    /**
+     * Tokens this close to their expiry are not used anymore, the request would likely fail on the way.
+     */
+    private static final Duration EXPIRY_SAFETY_MARGIN = Duration.ofMinutes(1);
+
+    private final CheckedConfigProvider checkedConfigProvider;
+    private final GitHubClientCustomizer gitHubClientCustomizer;
+    private final InstallationClients installationClients;
+    private final Map<Long, GHAppInstallationToken> tokens = new ConcurrentHashMap<>();
+
+    @Inject
+    public CustomizedGitHubService(CheckedConfigProvider checkedConfigProvider, JwtTokenCreator jwtTokenCreator,
+            GitHubClientCustomizer gitHubClientCustomizer, InstallationClients installationClients) {
+        super(checkedConfigProvider, jwtTokenCreator);
+        this.checkedConfigProvider = checkedConfigProvider;
+        this.gitHubClientCustomizer = gitHubClientCustomizer;
+        this.installationClients = installationClients;
+    }
+
+    @Override
+    public GitHub getInstallationClient(long installationId) {
+        try {
+            if (installationClients.isEnabled()) {
+                return installationClients.get(installationId);
+            }
+            GitHubBuilder builder = new GitHubBuilder()
+                    .withEndpoint(checkedConfigProvider.restApiEndpoint())
+                    .withAppInstallationToken(token(installationId));
+            gitHubClientCustomizer.customize(builder, installationId);
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create a GitHub client for the installation " + installationId,
+                    e);
+        }
+    }
+
+    private String token(long installationId) throws IOException {
+        GHAppInstallationToken token = tokens.get(installationId);
+        if (token == null || Instant.now().isAfter(token.getExpiresAt().toInstant().minus(EXPIRY_SAFETY_MARGIN))) {
+            token = getApplicationClient().getApp().getInstallationById(installationId).createToken().create();
+            tokens.put(installationId, token);
+        }
+        return token.getToken();
+    }
+}
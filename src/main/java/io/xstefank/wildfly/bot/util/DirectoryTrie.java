@@ -0,0 +1,131 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
+import org.jboss.logging.Logger;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path-segment trie built from the {@code directories} of all rules. A changed file is walked
+ * through the trie segment by segment, so finding every rule whose directory contains the file
+ * costs at most the depth of the file path, independently of the number of rules and directories.
+ * <p>
+ * A directory {@code a/b} matches exactly the files starting with {@code a/b/}. A {@link PathGlob} is
+ * attached to the node of its literal prefix, so only the files under that prefix are matched against it
+ * and plain directories are matched as fast as before.
+ */
+public final class DirectoryTrie {
+
+    private static final Logger LOG = Logger.getLogger(DirectoryTrie.class);
+
+    private static final int[] NO_RULES = new int[0];
+    private static final GlobRule[] NO_GLOBS = new GlobRule[0];
+
+    private final Node root = new Node();
+
+    private DirectoryTrie() {
+    }
+
+    public static DirectoryTrie build(List<WildFlyRule> rules) {
+        DirectoryTrie trie = new DirectoryTrie();
+        for (int i = 0; i < rules.size(); i++) {
+            for (String directory : rules.get(i).directories) {
+                if (PathGlob.isGlob(directory)) {
+                    trie.addGlob(rules.get(i), directory, i);
+                } else {
+                    trie.add(directory, i);
+                }
+            }
+        }
+        return trie;
+    }
+
+    private void add(String directory, int ruleIndex) {
+        String path = directory.endsWith("/") ? directory.substring(0, directory.length() - 1) : directory;
+        Node node = node(path);
+        if (Arrays.stream(node.rules).noneMatch(index -> index == ruleIndex)) {
+            node.rules = Arrays.copyOf(node.rules, node.rules.length + 1);
+            node.rules[node.rules.length - 1] = ruleIndex;
+        }
+    }
+
+    private void addGlob(WildFlyRule rule, String directory, int ruleIndex) {
+        PathGlob glob;
+        try {
+            glob = PathGlob.compile(directory);
+        } catch (IllegalArgumentException e) {
+            LOG.warnf("Rule [%s] contains invalid directory pattern \"%s\" and it will never match. %s",
+                    rule.toPrettyString(), directory, e.getMessage());
+            return;
+        }
+        Node node = glob.getLiteralPrefix().isEmpty() ? root : node(glob.getLiteralPrefix());
+        node.globs = Arrays.copyOf(node.globs, node.globs.length + 1);
+        node.globs[node.globs.length - 1] = new GlobRule(glob, ruleIndex);
+    }
+
+    private Node node(String path) {
+        Node node = root;
+        for (String segment : path.split("/", -1)) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        return node;
+    }
+
+    /**
+     * @return indexes of the rules having at least one directory containing one of the files
+     */
+    public BitSet match(List<String> filenames) {
+        BitSet matched = new BitSet();
+        for (String filename : filenames) {
+            match(filename, matched);
+        }
+        return matched;
+    }
+
+    private void match(String filename, BitSet matched) {
+        Node node = root;
+        int start = 0;
+        int slash;
+        matchGlobs(node, filename, start, matched);
+        // only segments followed by a '/' can be directories containing the file
+        while ((slash = filename.indexOf('/', start)) >= 0) {
+            node = node.children.get(filename.substring(start, slash));
+            if (node == null) {
+                return;
+            }
+            for (int ruleIndex : node.rules) {
+                matched.set(ruleIndex);
+            }
+            start = slash + 1;
+            matchGlobs(node, filename, start, matched);
+        }
+    }
+
+    private static void matchGlobs(Node node, String filename, int start, BitSet matched) {
+        for (GlobRule globRule : node.globs) {
+            if (!matched.get(globRule.ruleIndex) && globRule.glob.matchesTail(filename.subSequence(start, filename.length()))) {
+                matched.set(globRule.ruleIndex);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private int[] rules = NO_RULES;
+        private GlobRule[] globs = NO_GLOBS;
+    }
+
+    private static final class GlobRule {
+        private final PathGlob glob;
+        private final int ruleIndex;
+
+        private GlobRule(PathGlob glob, int ruleIndex) {
+            this.glob = glob;
+            this.ruleIndex = ruleIndex;
+        }
+    }
+}
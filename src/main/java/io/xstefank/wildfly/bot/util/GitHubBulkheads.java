@@ -0,0 +1,71 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the GitHub API calls in flight separately for each {@link ApiPriority}, so that slow background calls, e.g.
+ * the mergeable status rescans, can not take the threads needed to answer the events and the other way around. A call
+ * waits for at most {@code wildfly-bot.bulkhead.max-wait} for a free slot, and is rejected with a
+ * {@link GitHubUnavailableException} afterwards.
+ * <p>
+ * The number of slots is configured by {@code wildfly-bot.bulkhead.interactive} and
+ * {@code wildfly-bot.bulkhead.background}.
+ */
+@ApplicationScoped
+public class GitHubBulkheads {
+
+    private final Map<ApiPriority, Semaphore> slots = new EnumMap<>(ApiPriority.class);
+    private final Map<ApiPriority, AtomicLong> rejected = new EnumMap<>(ApiPriority.class);
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    @PostConstruct
+    void init() {
+        slots.put(ApiPriority.INTERACTIVE, new Semaphore(wildFlyBotConfig.bulkheadInteractive(), true));
+        slots.put(ApiPriority.BACKGROUND, new Semaphore(wildFlyBotConfig.bulkheadBackground(), true));
+        for (ApiPriority priority : ApiPriority.values()) {
+            rejected.put(priority, new AtomicLong());
+        }
+    }
+
+    /**
+     * Must be followed by {@link #release(ApiPriority)} once the call is done.
+     *
+     * @throws GitHubUnavailableException if there is no free slot in time
+     */
+    public void acquire(ApiPriority priority) throws GitHubUnavailableException, InterruptedIOException {
+        try {
+            if (!slots.get(priority).tryAcquire(wildFlyBotConfig.bulkheadMaxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.get(priority).incrementAndGet();
+                throw new GitHubUnavailableException("Too many %s GitHub API calls in flight"
+                        .formatted(priority.name().toLowerCase()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a GitHub API call slot");
+        }
+    }
+
+    public void release(ApiPriority priority) {
+        slots.get(priority).release();
+    }
+
+    public int getAvailable(ApiPriority priority) {
+        return slots.get(priority).availablePermits();
+    }
+
+    public long getRejected(ApiPriority priority) {
+        return rejected.get(priority).get();
+    }
+}
@@ -0,0 +1,200 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling GitHub while it is failing, so that the worker threads do not pile up waiting for a degraded API.
+ * <ul>
+ * <li>{@link State#CLOSED}: calls are sent, the results of the last calls are recorded. Once enough calls failed,
+ * the circuit opens.</li>
+ * <li>{@link State#OPEN}: calls are rejected with a {@link GitHubUnavailableException} right away. Once the delay
+ * elapses, the circuit is half open.</li>
+ * <li>{@link State#HALF_OPEN}: a single trial call is sent, the others are rejected. The circuit closes if the trial
+ * succeeds and opens again otherwise.</li>
+ * </ul>
+ * Server errors and failed connections count as failures, client errors do not.
+ * <p>
+ * The breaker is configured by {@code wildfly-bot.circuit-breaker.*}.
+ */
+@ApplicationScoped
+public class GitHubCircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(GitHubCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    private int requestVolume;
+    private double failureRatio;
+    private long delayMillis;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private State state = State.CLOSED;
+
+    /**
+     * Results of the last calls in the closed state, {@code true} for a failure.
+     */
+    private boolean[] window;
+    private int windowNext;
+    private int windowSize;
+    private int windowFailures;
+
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private long opened;
+    private long rejected;
+
+    public GitHubCircuitBreaker() {
+    }
+
+    public GitHubCircuitBreaker(int requestVolume, double failureRatio, Duration delay, LongSupplier clock) {
+        configure(requestVolume, failureRatio, delay);
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void init() {
+        configure(wildFlyBotConfig.circuitBreakerRequestVolume(), wildFlyBotConfig.circuitBreakerFailureRatio(),
+                wildFlyBotConfig.circuitBreakerDelay());
+    }
+
+    private void configure(int requestVolume, double failureRatio, Duration delay) {
+        this.requestVolume = requestVolume;
+        this.failureRatio = failureRatio;
+        this.delayMillis = delay.toMillis();
+        this.window = new boolean[requestVolume];
+    }
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.circuitBreakerEnabled();
+    }
+
+    /**
+     * Must be followed by {@link #onSuccess()}, {@link #onFailure()} or {@link #onCancelled()} once the call is done.
+     *
+     * @throws GitHubUnavailableException if the call must not be sent
+     */
+    public synchronized void acquirePermission() throws GitHubUnavailableException {
+        if (state == State.OPEN) {
+            long openMillis = clock.getAsLong() - openedAt;
+            if (openMillis < delayMillis) {
+                rejected++;
+                throw new GitHubUnavailableException("The circuit breaker of the GitHub API calls is open",
+                        delayMillis - openMillis);
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                rejected++;
+                throw new GitHubUnavailableException("The circuit breaker of the GitHub API calls is half open");
+            }
+            trialInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        switch (state) {
+            case HALF_OPEN -> {
+                LOG.info("GitHub API calls succeed again, closing the circuit breaker");
+                state = State.CLOSED;
+                resetWindow();
+            }
+            case CLOSED -> record(false);
+            case OPEN -> {
+                // a call sent before the circuit opened
+            }
+        }
+    }
+
+    public synchronized void onFailure() {
+        switch (state) {
+            case HALF_OPEN -> open();
+            case CLOSED -> {
+                record(true);
+                if (windowSize >= requestVolume && windowFailures >= failureRatio * windowSize) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // a call sent before the circuit opened
+            }
+        }
+    }
+
+    /**
+     * The call was interrupted before GitHub answered, or was not sent at all, which says nothing about GitHub.
+     */
+    public synchronized void onCancelled() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowSize == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowSize++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void resetWindow() {
+        windowNext = 0;
+        windowSize = 0;
+        windowFailures = 0;
+    }
+
+    private void open() {
+        LOG.warnf("GitHub API calls are failing, opening the circuit breaker for %d ms", delayMillis);
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        trialInFlight = false;
+        opened++;
+        resetWindow();
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= delayMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * @return millis until a trial call is allowed, {@code 0} if the circuit is not open
+     */
+    public synchronized long remainingOpenMillis() {
+        return state == State.OPEN ? Math.max(0, openedAt + delayMillis - clock.getAsLong()) : 0;
+    }
+
+    public synchronized long getOpened() {
+        return opened;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+}
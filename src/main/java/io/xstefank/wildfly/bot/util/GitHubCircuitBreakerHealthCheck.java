@@ -0,0 +1,39 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the state of the {@link GitHubCircuitBreaker} and the {@link GitHubBulkheads}. The check itself is always up,
+ * an outage of GitHub must neither restart the bot nor stop the delivery of the events, the deferred work is retried
+ * once GitHub recovers.
+ */
+@Readiness
+@ApplicationScoped
+public class GitHubCircuitBreakerHealthCheck implements HealthCheck {
+
+    @Inject
+    GitHubCircuitBreaker circuitBreaker;
+
+    @Inject
+    GitHubBulkheads bulkheads;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("GitHub circuit breaker")
+                .up()
+                .withData("enabled", circuitBreaker.isEnabled())
+                .withData("state", circuitBreaker.getState().name())
+                .withData("remainingOpenMillis", circuitBreaker.remainingOpenMillis())
+                .withData("opened", circuitBreaker.getOpened())
+                .withData("rejected", circuitBreaker.getRejected())
+                .withData("interactiveAvailable", bulkheads.getAvailable(ApiPriority.INTERACTIVE))
+                .withData("interactiveRejected", bulkheads.getRejected(ApiPriority.INTERACTIVE))
+                .withData("backgroundAvailable", bulkheads.getAvailable(ApiPriority.BACKGROUND))
+                .withData("backgroundRejected", bulkheads.getRejected(ApiPriority.BACKGROUND))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+
+/**
+ * Customizes the installation clients created by {@link CustomizedGitHubService} and {@link InstallationClients}. All
+ * clients share a single {@link HttpClientConnector}, unless {@code wildfly-bot.http-client.enabled} is {@code false},
+ * and send their calls through the {@link GitHubCircuitBreaker}, unless {@code wildfly-bot.circuit-breaker.enabled} is
+ * {@code false}.
+ */
+@Singleton
+public class GitHubClientCustomizer {
+
+    @Inject
+    GitHubResponseCache gitHubResponseCache;
+
+    @Inject
+    GitHubRateLimitBudget gitHubRateLimitBudget;
+
+    @Inject
+    GitHubCircuitBreaker gitHubCircuitBreaker;
+
+    @Inject
+    GitHubBulkheads gitHubBulkheads;
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    private GitHubConnector httpConnector;
+
+    @PostConstruct
+    void init() {
+        if (wildFlyBotConfig.httpClientEnabled()) {
+            httpConnector = new HttpClientConnector(
+                    HttpClientConnector.newHttpClient(wildFlyBotConfig.httpClientConnectTimeout()),
+                    wildFlyBotConfig.httpClientRequestTimeout(),
+                    wildFlyBotConfig.httpClientMaxConcurrentRequestsPerHost(), wildFlyBotConfig.bulkheadMaxWait());
+        } else {
+            httpConnector = GitHubConnector.DEFAULT;
+        }
+    }
+
+    /**
+     * @param installationId installation the client is created for
+     */
+    public void customize(GitHubBuilder builder, long installationId) {
+        GitHubConnector connector = httpConnector;
+        if (gitHubResponseCache.isEnabled()) {
+            connector = new ConditionalRequestConnector(connector, gitHubResponseCache);
+        }
+        connector = new RateLimitAwareConnector(connector, gitHubRateLimitBudget, installationId);
+        if (gitHubCircuitBreaker.isEnabled()) {
+            connector = new CircuitBreakerConnector(connector, gitHubCircuitBreaker, gitHubBulkheads);
+        }
+        builder.withConnector(connector);
+    }
+}
@@ -0,0 +1,50 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import jakarta.json.JsonObject;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Executes the queries with the GraphQL client of a GitHub App installation. Closing the executor closes the client.
+ */
+public class GitHubGraphQLExecutor implements GraphQLExecutor, AutoCloseable {
+
+    private final DynamicGraphQLClient client;
+
+    public GitHubGraphQLExecutor(DynamicGraphQLClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public JsonObject execute(String query, Map<String, Object> variables) throws IOException {
+        Response response;
+        try {
+            response = client.executeSync(query, variables);
+        } catch (ExecutionException e) {
+            throw new IOException("GraphQL query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("GraphQL query interrupted", e);
+        }
+        if (response.hasError()) {
+            throw new IOException("GraphQL query failed with the following errors: " + response.getErrors());
+        }
+        return response.getData();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            client.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("GraphQL client close interrupted", e);
+        } catch (Exception e) {
+            throw new IOException("Unable to close the GraphQL client", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the remaining REST API quota of every installation from the {@code X-RateLimit-*} response headers and
+ * schedules the calls by their {@link ApiPriority}. Interactive calls are never delayed. Background calls of an
+ * installation
+ * <ul>
+ * <li>yield to the interactive calls of the same installation which are in flight, for at most
+ * {@value #MAX_YIELD_MILLIS} ms,</li>
+ * <li>are spread until the quota resets once the remaining quota drops below twice the reserve,</li>
+ * <li>wait for the reset, for at most {@value #MAX_DELAY_MILLIS} ms per call, once the remaining quota drops
+ * below the reserve.</li>
+ * </ul>
+ * No thread waits for its turn. A background call which may not be sent yet is rejected with a
+ * {@link GitHubUnavailableException} telling when it may be sent, and the background work, i.e. the
+ * {@link WriteBehindQueue}, the {@link PullRequestMergableProcessor} and the startup validation, submits it again
+ * then.
+ * <p>
+ * The reserve is the percentage of the quota configured by {@code wildfly-bot.rate-limit.background-reserve}.
+ */
+@ApplicationScoped
+public class GitHubRateLimitBudget {
+
+    private static final Logger LOG = Logger.getLogger(GitHubRateLimitBudget.class);
+
+    static final long MAX_YIELD_MILLIS = 5_000;
+    static final long MAX_DELAY_MILLIS = 60_000;
+
+    /**
+     * Time after which a background call yielding to interactive calls is tried again.
+     */
+    static final long YIELD_RETRY_MILLIS = 500;
+
+    private static final int MAX_INSTALLATIONS = 256;
+
+    private final Map<Long, Installation> installations = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Installation> eldest) {
+            return size() > MAX_INSTALLATIONS && eldest.getValue().interactiveInFlight == 0;
+        }
+    };
+
+    private final AtomicLong deferred = new AtomicLong();
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    private int backgroundReserve;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    public GitHubRateLimitBudget() {
+    }
+
+    public GitHubRateLimitBudget(int backgroundReserve, LongSupplier clock) {
+        this.backgroundReserve = backgroundReserve;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void init() {
+        backgroundReserve = wildFlyBotConfig.backgroundReserve();
+    }
+
+    /**
+     * Must be followed by {@link #afterRequest(long, ApiPriority, GitHubConnectorResponse)} once the call is done,
+     * unless it throws.
+     *
+     * @param installationId installation whose quota the call uses
+     * @throws GitHubUnavailableException if the call is a background call which must not be sent yet
+     */
+    public void beforeRequest(long installationId, ApiPriority priority) throws GitHubUnavailableException {
+        long now = clock.getAsLong();
+        long retryAfter;
+        synchronized (installations) {
+            Installation installation = installations.computeIfAbsent(installationId, id -> new Installation());
+            if (priority == ApiPriority.INTERACTIVE) {
+                installation.interactiveInFlight++;
+                return;
+            }
+
+            retryAfter = Math.max(installation.nextBackgroundAt - now, 0);
+            if (installation.interactiveInFlight > 0) {
+                if (installation.yieldingSince == 0) {
+                    installation.yieldingSince = now;
+                }
+                if (now - installation.yieldingSince < MAX_YIELD_MILLIS) {
+                    retryAfter = Math.max(retryAfter, YIELD_RETRY_MILLIS);
+                }
+            }
+            if (retryAfter == 0) {
+                installation.yieldingSince = 0;
+                if (installation.quotaLimit > 0) {
+                    installation.nextBackgroundAt = now + backgroundDelay(installation.quotaLimit,
+                            installation.quotaRemaining, installation.quotaResetEpochMillis - now, backgroundReserve);
+                }
+                return;
+            }
+        }
+
+        deferred.incrementAndGet();
+        LOG.debugf("Deferring a background GitHub API call of the installation %d by %d ms", installationId, retryAfter);
+        throw new GitHubUnavailableException("The GitHub API quota of the installation %d is kept for interactive calls"
+                .formatted(installationId), retryAfter);
+    }
+
+    /**
+     * Records the quota reported by the response, which is null if the call failed.
+     */
+    public void afterRequest(long installationId, ApiPriority priority, GitHubConnectorResponse response) {
+        Integer limit = null;
+        Integer remaining = null;
+        Long reset = null;
+        if (response != null && "core".equals(response.header("X-RateLimit-Resource"))) {
+            try {
+                limit = Integer.parseInt(response.header("X-RateLimit-Limit"));
+                remaining = Integer.parseInt(response.header("X-RateLimit-Remaining"));
+                reset = Long.parseLong(response.header("X-RateLimit-Reset")) * 1000;
+            } catch (NumberFormatException e) {
+                LOG.debugf("Unable to parse the rate limit headers of %s", response.request().url());
+                limit = null;
+            }
+        }
+
+        synchronized (installations) {
+            Installation installation = installations.computeIfAbsent(installationId, id -> new Installation());
+            if (priority == ApiPriority.INTERACTIVE && installation.interactiveInFlight > 0) {
+                installation.interactiveInFlight--;
+            }
+            if (limit != null) {
+                installation.quotaLimit = limit;
+                installation.quotaRemaining = remaining;
+                installation.quotaResetEpochMillis = reset;
+            }
+        }
+    }
+
+    /**
+     * @return number of background calls which were deferred
+     */
+    public long getDeferred() {
+        return deferred.get();
+    }
+
+    /**
+     * @param reservePercent percentage of the quota kept for interactive calls
+     * @return milliseconds to wait before sending a background call
+     */
+    public static long backgroundDelay(int limit, int remaining, long millisUntilReset, int reservePercent) {
+        if (millisUntilReset <= 0 || limit <= 0) {
+            return 0;
+        }
+        long reserve = (long) limit * reservePercent / 100;
+        if (remaining <= reserve) {
+            return Math.min(millisUntilReset, MAX_DELAY_MILLIS);
+        }
+        if (remaining < 2 * reserve) {
+            return Math.min(millisUntilReset / (remaining - reserve), MAX_DELAY_MILLIS);
+        }
+        return 0;
+    }
+
+    /**
+     * Calls in flight and the last reported quota of an installation.
+     */
+    private static final class Installation {
+
+        private int interactiveInFlight;
+
+        /**
+         * Time since when the background calls yield to the interactive calls, {@code 0} if they do not.
+         */
+        private long yieldingSince;
+
+        /**
+         * Time before which no further background call is sent.
+         */
+        private long nextBackgroundAt;
+
+        private int quotaLimit;
+        private int quotaRemaining;
+        private long quotaResetEpochMillis;
+    }
+}
@@ -0,0 +1,115 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bodies and validators of the GitHub REST responses read by the bot, shared by the clients of all installations.
+ * Every cached response is revalidated with a conditional request, see {@link ConditionalRequestConnector}, so
+ * a cached body is never served without GitHub confirming that it did not change.
+ * <p>
+ * The number of cached responses is configured by {@code wildfly-bot.http-cache.size}, {@code 0} disables
+ * the cache.
+ */
+@ApplicationScoped
+public class GitHubResponseCache {
+
+    /**
+     * Larger bodies are not cached.
+     */
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final Map<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > wildFlyBotConfig.httpCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.httpCacheSize() > 0;
+    }
+
+    CachedResponse get(String key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    void put(String key, CachedResponse response) {
+        if (response.body.length > MAX_BODY_SIZE) {
+            remove(key);
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, response);
+        }
+    }
+
+    void remove(String key) {
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * @return number of requests answered with {@code 304 Not Modified}
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of cacheable requests which transferred a body
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long hits = this.hits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    static final class CachedResponse {
+
+        final String etag;
+        final String lastModified;
+        final Map<String, List<String>> headers;
+        final byte[] body;
+
+        CachedResponse(String etag, String lastModified, Map<String, List<String>> headers, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
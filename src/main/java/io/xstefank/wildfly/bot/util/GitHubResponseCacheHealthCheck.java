@@ -0,0 +1,32 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.Locale;
+
+/**
+ * Reports the effectiveness of the {@link GitHubResponseCache}, the check itself is always up.
+ */
+@Readiness
+@ApplicationScoped
+public class GitHubResponseCacheHealthCheck implements HealthCheck {
+
+    @Inject
+    GitHubResponseCache gitHubResponseCache;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("GitHub response cache")
+                .up()
+                .withData("enabled", gitHubResponseCache.isEnabled())
+                .withData("size", gitHubResponseCache.size())
+                .withData("hits", gitHubResponseCache.getHits())
+                .withData("misses", gitHubResponseCache.getMisses())
+                .withData("hitRatio", String.format(Locale.ROOT, "%.3f", gitHubResponseCache.getHitRatio()))
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package io.xstefank.wildfly.bot.util;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling GitHub while the {@link GitHubCircuitBreaker} is open, the {@link GitHubBulkheads} are
+ * full or the {@link GitHubRateLimitBudget} defers a background call. The call was not sent, so it can be retried
+ * later.
+ */
+public class GitHubUnavailableException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public GitHubUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    /**
+     * @param retryAfterMillis time after which the call may be sent, {@code 0} if it is not known
+     */
+    public GitHubUnavailableException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * @return whether the given failure, or any of its causes, is a call which was not sent to GitHub
+     */
+    public static boolean isCause(Throwable failure) {
+        return retryAfterMillis(failure) >= 0;
+    }
+
+    /**
+     * @return time after which the call which was not sent may be sent, {@code 0} if it is not known, or {@code -1}
+     *         if the given failure is not caused by a call which was not sent
+     */
+    public static long retryAfterMillis(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GitHubUnavailableException unavailable) {
+                return unavailable.retryAfterMillis;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,9 +1,9 @@
 package io.xstefank.wildfly.bot.util;
 
+import io.quarkus.arc.Arc;
 import io.quarkus.mailer.Mail;
 import io.quarkus.mailer.Mailer;
 import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
-import io.xstefank.wildfly.bot.model.RuntimeConstants;
 import io.xstefank.wildfly.bot.model.WildFlyConfigFile;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.Dependent;
@@ -11,15 +11,12 @@ import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import org.kohsuke.github.GHCommitState;
-import org.kohsuke.github.GHIssueComment;
-import org.kohsuke.github.GHLabel;
-import org.kohsuke.github.GHPerson;
+import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.HttpException;
-import org.kohsuke.github.PagedIterable;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -27,7 +24,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
@@ -49,6 +49,8 @@ public class GithubProcessor {
             ---
             This is generated message, please do not respond.""";
 
+    private static final String CC_COMMENT_PREFIX = "/cc";
+
     private static final Logger LOG_DELEGATE = Logger.getLogger(GithubProcessor.class);
     public final PullRequestLogger LOG = new PullRequestLogger(LOG_DELEGATE);
     private Pattern SKIP_FORMAT_COMMAND;
@@ -59,6 +61,27 @@ public class GithubProcessor {
     @Inject
     Mailer mailer;
 
+    @Inject
+    PullRequestSnapshots pullRequestSnapshots;
+
+    @Inject
+    RepositoryLabelCache repositoryLabelCache;
+
+    @Inject
+    CollaboratorCache collaboratorCache;
+
+    @Inject
+    PullRequestLabelWriter pullRequestLabelWriter;
+
+    @Inject
+    BotComments botComments;
+
+    @Inject
+    CommitStatusCache commitStatusCache;
+
+    @Inject
+    WriteBehindQueue writeBehindQueue;
+
     @ConfigProperty(name = "quarkus.mailer.username")
     Optional<String> username;
 
@@ -68,26 +91,38 @@ public class GithubProcessor {
                 Pattern.DOTALL | Pattern.LITERAL);
     }
 
-    public void commitStatusSuccess(GHPullRequest pullRequest, String checkName, String description) throws IOException {
-        String sha = pullRequest.getHead().getSha();
-
-        if (wildFlyBotConfig.isDryRun()) {
-            LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Commit status success {%s, %s, %s}"), sha, checkName,
-                    description);
-        } else {
-            pullRequest.getRepository().createCommitStatus(sha, GHCommitState.SUCCESS, "", description, checkName);
+    /**
+     * @return the snapshot shared by the processors of the current event, or a new one when there is no event,
+     *         e.g. in scheduled jobs
+     */
+    public PullRequestSnapshot snapshot(GHPullRequest pullRequest) {
+        if (Arc.container().requestContext().isActive()) {
+            return pullRequestSnapshots.get(pullRequest);
         }
+        return new PullRequestSnapshot(pullRequest, null);
+    }
+
+    public void commitStatusSuccess(GHPullRequest pullRequest, String checkName, String description) throws IOException {
+        commitStatus(pullRequest, GHCommitState.SUCCESS, checkName, description);
     }
 
     public void commitStatusError(GHPullRequest pullRequest, String checkName, String description) throws IOException {
-        String sha = pullRequest.getHead().getSha();
+        commitStatus(pullRequest, GHCommitState.ERROR, checkName, description);
+    }
 
-        if (wildFlyBotConfig.isDryRun()) {
-            LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Commit status failure {%s, %s, %s}"), sha, checkName,
-                    description);
-        } else {
-            pullRequest.getRepository().createCommitStatus(sha, GHCommitState.ERROR, "", description, checkName);
+    private void commitStatus(GHPullRequest pullRequest, GHCommitState state, String checkName, String description)
+            throws IOException {
+        String sha = pullRequest.getHead().getSha();
+        GHRepository repository = pullRequest.getRepository();
+        if (commitStatusCache.isWritten(repository, sha, checkName, state, description)) {
+            LOG.debugf("Commit status {%s, %s, %s} is already set, skipping.", sha, checkName, description);
+            return;
         }
+        // remembered right away, so that the status is not submitted again while its write is pending
+        commitStatusCache.written(repository, sha, checkName, state, description);
+        writeBehindQueue.submit(() -> CommitStatusCache.target(repository, sha, checkName),
+                "Commit status %s {%s, %s, %s}".formatted(state.name().toLowerCase(), sha, checkName, description),
+                () -> repository.createCommitStatus(sha, state, "", description, checkName));
     }
 
     public void processNotifies(GHPullRequest pullRequest, GitHub gitHub, Set<String> ccMentions, Set<String> reviewers,
@@ -99,105 +134,197 @@ public class GithubProcessor {
 
         ccMentions.removeAll(reviewers);
 
-        List<String> currentReviewers = pullRequest.getRequestedReviewers()
-                .stream()
-                .map(GHPerson::getLogin)
-                .toList();
-
-        reviewers.removeAll(currentReviewers);
+        reviewers.removeAll(snapshot(pullRequest).getRequestedReviewers());
 
         updateCCMentions(pullRequest, ccMentions);
 
-        if (!reviewers.isEmpty()) {
-            if (wildFlyBotConfig.isDryRun()) {
-                LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("PR review requested from \"%s\""),
-                        String.join(",", reviewers));
-            } else {
-                List<String> failedReviewers = new ArrayList<>();
-                for (String requestedReviewer : reviewers) {
-                    try {
-                        GHUser ghUser = gitHub.getUser(requestedReviewer);
-                        pullRequest.requestReviewers(List.of(ghUser));
-                    } catch (HttpException | RuntimeException e) {
-                        LOG.warnf(
-                                "The request of getting GHUser or requesting the user as Pull Request reviewer has failed due to %s",
-                                e.getMessage());
-                        failedReviewers.add(requestedReviewer);
-                    }
-                }
+        requestReviewers(pullRequest, gitHub, reviewers, emails);
+    }
 
-                if (!failedReviewers.isEmpty()) {
-                    LOG.warnf("Bot can not request PR review from the following people: %s", failedReviewers);
-                    GHRepository repository = pullRequest.getRepository();
-                    sendEmail(
-                            COLLABORATOR_MISSING_SUBJECT.formatted(repository.getFullName()),
-                            COLLABORATOR_MISSING_BODY.formatted(repository.getFullName(), pullRequest.getNumber(),
-                                    failedReviewers),
-                            emails);
-                }
-            }
+    /**
+     * Requests reviews from the given users through the {@link WriteBehindQueue}, the ones who can not be requested
+     * are reported by email. Pending review requests of the same pull request are merged.
+     * <p>
+     * All reviewers are requested with a single call. If GitHub rejects it as unprocessable, the reviewers are split
+     * in halves which are requested separately, until the rejected reviewers are found.
+     */
+    public void requestReviewers(GHPullRequest pullRequest, GitHub gitHub, Set<String> reviewers, List<String> emails)
+            throws IOException {
+        if (reviewers.isEmpty()) {
+            return;
         }
+        writeBehindQueue.submit(() -> reviewersTarget(pullRequest),
+                "PR review requested from \"%s\"".formatted(String.join(",", reviewers)),
+                new ReviewRequest(pullRequest, snapshot(pullRequest), gitHub, reviewers, emails));
     }
 
-    private void updateCCMentions(GHPullRequest pullRequest, Set<String> newMentions) throws IOException {
-        for (GHIssueComment comment : pullRequest.listComments()) {
-            if (comment.getUser().getLogin().equals(wildFlyBotConfig.githubName())
-                    && comment.getBody().startsWith("/cc")) {
-                if (newMentions.isEmpty()) {
-                    if (wildFlyBotConfig.isDryRun()) {
-                        LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Delete comment %s"), comment);
-                    } else {
-                        comment.delete();
-                    }
+    private static String reviewersTarget(GHPullRequest pullRequest) {
+        return WriteBehindQueue.pullRequestTarget(pullRequest.getRepository().getFullName(), pullRequest.getNumber(),
+                "reviewers");
+    }
+
+    private void requestReviewersNow(GHPullRequest pullRequest, PullRequestSnapshot snapshot, GitHub gitHub,
+            Set<String> reviewers, List<String> emails) throws IOException {
+        GHRepository repository = pullRequest.getRepository();
+        Map<String, GHUser> users = new LinkedHashMap<>();
+        Set<String> failedReviewers = new HashSet<>();
+        for (String requestedReviewer : reviewers) {
+            CollaboratorCache.Collaborator collaborator = collaboratorCache.get(repository, requestedReviewer);
+            if (collaborator != null) {
+                if (collaborator.isCollaborator()) {
+                    users.put(requestedReviewer, collaborator.getUser());
                 } else {
-                    List<String> commentMentions = Arrays.stream(comment.getBody().split(" @"))
-                            .skip(1)
-                            .map(s -> s.endsWith(",")
-                                    ? s.substring(0, s.length() - 1)
-                                    : s)
-                            .collect(Collectors.toList());
-
-                    if (!new HashSet<>(commentMentions).containsAll(newMentions) ||
-                            commentMentions.size() != newMentions.size()) {
-
-                        // We preserve order of already mentioned people and append new people
-                        commentMentions.removeIf(s -> !newMentions.contains(s));
-                        newMentions.removeAll(commentMentions);
-                        commentMentions.addAll(newMentions);
-
-                        String updatedBody = "/cc @" + String.join(", @", commentMentions);
-                        if (wildFlyBotConfig.isDryRun()) {
-                            LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Update comment %s to %s"), comment.getBody(),
-                                    updatedBody);
-                        } else {
-                            comment.update(updatedBody);
-                        }
-                    } // else nothing to update, as we have all mentions in the comment
+                    LOG.debugf("Skipping review request from %s, who is not a collaborator", requestedReviewer);
                 }
-                return;
+                continue;
+            }
+            try {
+                GHUser ghUser = gitHub.getUser(requestedReviewer);
+                if (ghUser != null) {
+                    users.put(requestedReviewer, ghUser);
+                } else {
+                    failedReviewers.add(requestedReviewer);
+                }
+            } catch (GHFileNotFoundException e) {
+                LOG.warnf("The user %s does not exist", requestedReviewer);
+                collaboratorCache.nonCollaborator(repository, requestedReviewer);
+                failedReviewers.add(requestedReviewer);
+            } catch (HttpException | RuntimeException e) {
+                LOG.warnf("The request of getting GHUser %s has failed due to %s", requestedReviewer,
+                        e.getMessage());
+                failedReviewers.add(requestedReviewer);
             }
         }
 
-        if (newMentions.isEmpty()) {
+        requestReviewers(pullRequest, snapshot, repository, users, new ArrayList<>(users.keySet()), failedReviewers);
+
+        if (!failedReviewers.isEmpty()) {
+            // in the order of the requested reviewers
+            List<String> failed = reviewers.stream()
+                    .filter(failedReviewers::contains)
+                    .toList();
+            LOG.warnf("Bot can not request PR review from the following people: %s", failed);
+            sendEmail(
+                    COLLABORATOR_MISSING_SUBJECT.formatted(repository.getFullName()),
+                    COLLABORATOR_MISSING_BODY.formatted(repository.getFullName(), pullRequest.getNumber(), failed),
+                    emails);
+        }
+    }
+
+    /**
+     * Only a rejection of the request is bisected, other failures are thrown, so that the whole request is retried.
+     */
+    private void requestReviewers(GHPullRequest pullRequest, PullRequestSnapshot snapshot, GHRepository repository,
+            Map<String, GHUser> users, List<String> logins, Set<String> failedReviewers) throws IOException {
+        if (logins.isEmpty()) {
+            return;
+        }
+        try {
+            pullRequest.requestReviewers(logins.stream().map(users::get).toList());
+            snapshot.reviewersRequested(logins);
+            for (String login : logins) {
+                collaboratorCache.collaborator(repository, login, users.get(login));
+            }
+        } catch (HttpException e) {
+            if (e.getResponseCode() != 422) {
+                throw e;
+            }
+            if (logins.size() == 1) {
+                LOG.warnf("Requesting %s as Pull Request reviewer has failed due to %s", logins.get(0), e.getMessage());
+                // GitHub rejects review requests from users who are not collaborators
+                collaboratorCache.nonCollaborator(repository, logins.get(0));
+                failedReviewers.add(logins.get(0));
+            } else {
+                LOG.debugf("Requesting %d Pull Request reviewers has failed due to %s, requesting them in halves",
+                        logins.size(), e.getMessage());
+                int half = logins.size() / 2;
+                requestReviewers(pullRequest, snapshot, repository, users, logins.subList(0, half), failedReviewers);
+                requestReviewers(pullRequest, snapshot, repository, users, logins.subList(half, logins.size()),
+                        failedReviewers);
+            }
+        }
+    }
+
+    /**
+     * Review request of a pull request, a superseded one is merged into it.
+     */
+    private final class ReviewRequest implements WriteBehindQueue.MergingWrite {
+
+        private final GHPullRequest pullRequest;
+        private final PullRequestSnapshot snapshot;
+        private final GitHub gitHub;
+        private final Set<String> reviewers;
+        private final List<String> emails;
+
+        private ReviewRequest(GHPullRequest pullRequest, PullRequestSnapshot snapshot, GitHub gitHub,
+                Collection<String> reviewers, List<String> emails) {
+            this.pullRequest = pullRequest;
+            this.snapshot = snapshot;
+            this.gitHub = gitHub;
+            this.reviewers = new LinkedHashSet<>(reviewers);
+            this.emails = emails;
+        }
+
+        @Override
+        public void write() throws IOException {
+            requestReviewersNow(pullRequest, snapshot, gitHub, reviewers, emails);
+        }
+
+        @Override
+        public WriteBehindQueue.MergingWrite after(WriteBehindQueue.Write superseded) {
+            if (!(superseded instanceof ReviewRequest older)) {
+                return this;
+            }
+            Set<String> merged = new LinkedHashSet<>(older.reviewers);
+            merged.addAll(reviewers);
+            return new ReviewRequest(pullRequest, snapshot, gitHub, merged, emails);
+        }
+    }
+
+    /**
+     * Creates, updates or deletes the {@code /cc} comment of the bot, so that it mentions exactly the given users.
+     */
+    public void updateCCMentions(GHPullRequest pullRequest, Set<String> newMentions) throws IOException {
+        PullRequestSnapshot snapshot = snapshot(pullRequest);
+        BotComments.BotComment comment = botComments.find(pullRequest, snapshot, CC_COMMENT_PREFIX);
+        if (comment != null) {
+            if (newMentions.isEmpty()) {
+                botComments.delete(pullRequest, snapshot, comment);
+            } else {
+                List<String> commentMentions = Arrays.stream(comment.getBody().split(" @"))
+                        .skip(1)
+                        .map(s -> s.endsWith(",")
+                                ? s.substring(0, s.length() - 1)
+                                : s)
+                        .collect(Collectors.toList());
+
+                if (!new HashSet<>(commentMentions).containsAll(newMentions) ||
+                        commentMentions.size() != newMentions.size()) {
+
+                    // We preserve order of already mentioned people and append new people
+                    commentMentions.removeIf(s -> !newMentions.contains(s));
+                    newMentions.removeAll(commentMentions);
+                    commentMentions.addAll(newMentions);
+
+                    String updatedBody = CC_COMMENT_PREFIX + " @" + String.join(", @", commentMentions);
+                    botComments.update(pullRequest, snapshot, comment, updatedBody);
+                } // else nothing to update, as we have all mentions in the comment
+            }
             return;
         }
 
-        String updatedBody = "/cc @" + String.join(", @", newMentions);
-        if (wildFlyBotConfig.isDryRun()) {
-            LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Add new comment %s"), updatedBody);
-        } else {
-            pullRequest.comment(updatedBody);
+        if (newMentions.isEmpty()) {
+            return;
         }
+
+        String updatedBody = CC_COMMENT_PREFIX + " @" + String.join(", @", newMentions);
+        botComments.create(pullRequest, snapshot, CC_COMMENT_PREFIX, updatedBody);
     }
 
     public void createLabelsIfMissing(GHRepository repository, Collection<String> labels) throws IOException {
-        PagedIterable<GHLabel> repoLabels = repository.listLabels();
-        List<String> inRepoLabels = repoLabels.toList().stream()
-                .map(GHLabel::getName)
-                .filter(labels::contains)
-                .toList();
+        Set<String> repoLabels = repositoryLabelCache.labels(repository);
         List<String> missingLabels = labels.stream()
-                .filter(s -> !inRepoLabels.contains(s))
+                .filter(s -> !repoLabels.contains(s))
                 .toList();
 
         if (!missingLabels.isEmpty()) {
@@ -205,7 +332,12 @@ public class GithubProcessor {
                     missingLabels);
             for (String name : missingLabels) {
                 String color = String.format("%06x", new Random().nextInt(0xffffff + 1));
-                repository.createLabel(name, color);
+                writeBehindQueue.submit(() -> RepositoryLabelCache.target(repository, name),
+                        "Create the label %s in the repository %s".formatted(name, repository.getName()),
+                        () -> {
+                            repository.createLabel(name, color);
+                            repositoryLabelCache.created(repository, name);
+                        });
             }
         }
     }
@@ -229,7 +361,7 @@ public class GithubProcessor {
             return "skip format command found";
         }
 
-        if (pullRequest.isDraft()) {
+        if (snapshot(pullRequest).isDraft()) {
             return "pull request being a draft";
         }
 
@@ -245,16 +377,31 @@ public class GithubProcessor {
     }
 
     /**
+     * Updates the labels of the pull request of the event being handled. The labels are written by
+     * {@link PullRequestLabelWriter} once the event is processed.
+     */
+    public void updateLabels(GHPullRequest pullRequest, List<String> labelsToAdd, List<String> labelsToRemove)
+            throws IOException {
+        updateLabels(pullRequest, snapshot(pullRequest), labelsToAdd, labelsToRemove, true);
+    }
+
+    /**
+     * Updates the labels of a pull request outside of any event, e.g. by the mergeable status updates. The labels are
+     * written right away through the {@link WriteBehindQueue}.
+     * <p>
      * This method might get executed in parallel, thus we prepend Pull Request specific info
      * instead of relying on the {@code io.xstefank.wildfly.bot.util.PullRequestLogger#setPullRequest}
      * being called. The logger class was not designed for parallel execution, so this is somewhat
      * of a workaround compensating this short-coming.
      */
-    public void updateLabels(GHPullRequest pullRequest, List<String> labelsToAdd, List<String> labelsToRemove)
-            throws IOException {
-        List<String> currentLabels = pullRequest.getLabels().stream()
-                .map(GHLabel::getName)
-                .toList();
+    public void updateLabelsInBackground(GHPullRequest pullRequest, List<String> labelsToAdd,
+            List<String> labelsToRemove) throws IOException {
+        updateLabels(pullRequest, new PullRequestSnapshot(pullRequest, null), labelsToAdd, labelsToRemove, false);
+    }
+
+    private void updateLabels(GHPullRequest pullRequest, PullRequestSnapshot snapshot, List<String> labelsToAdd,
+            List<String> labelsToRemove, boolean buffered) throws IOException {
+        Set<String> currentLabels = snapshot.getLabels();
 
         labelsToAdd.removeIf(currentLabels::contains);
         labelsToRemove.removeIf(label -> !currentLabels.contains(label));
@@ -265,25 +412,27 @@ public class GithubProcessor {
                 logMessage = "Pull Request [#%d] - %s".formatted(pullRequest.getNumber(), logMessage);
             }
             LOG.info(logMessage);
-            if (wildFlyBotConfig.isDryRun()) {
-                LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Added the following labels: %s"), labelsToAdd);
-            } else {
-                pullRequest.addLabels(labelsToAdd.toArray(String[]::new));
+            if (buffered) {
+                pullRequestLabelWriter.addLabels(pullRequest, labelsToAdd);
             }
         }
 
         if (!labelsToRemove.isEmpty()) {
-            String logMessage = "Removing the following labels: %s".formatted(labelsToAdd);
+            String logMessage = "Removing the following labels: %s".formatted(labelsToRemove);
             if (!LOG.isPullRequestSet()) {
                 logMessage = "Pull Request [#%d] - %s".formatted(pullRequest.getNumber(), logMessage);
             }
             LOG.info(logMessage);
-            if (wildFlyBotConfig.isDryRun()) {
-                LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Removed the following labels: %s"), labelsToRemove);
-            } else {
-                pullRequest.removeLabels(labelsToRemove.toArray(String[]::new));
+            if (buffered) {
+                pullRequestLabelWriter.removeLabels(pullRequest, labelsToRemove);
             }
         }
+
+        if (!buffered && (!labelsToAdd.isEmpty() || !labelsToRemove.isEmpty())) {
+            PullRequestLabelWriter.submit(writeBehindQueue, pullRequest,
+                    "Add the labels %s and remove the labels %s".formatted(labelsToAdd, labelsToRemove),
+                    labelsToAdd, labelsToRemove);
+        }
     }
 
     public void deleteFormatComment(GHPullRequest pullRequest, String commentBody) throws IOException {
@@ -291,45 +440,28 @@ public class GithubProcessor {
     }
 
     public void formatComment(GHPullRequest pullRequest, String commentBody, Collection<String> errors) throws IOException {
-        boolean update = false;
         String firstLine = commentBody.split("\n")[0];
-        for (GHIssueComment comment : pullRequest.listComments()) {
-            if (comment.getUser().getLogin().equals(wildFlyBotConfig.githubName())
-                    && comment.getBody().startsWith(firstLine)) {
-                if (errors == null || errors.isEmpty()) {
-                    if (wildFlyBotConfig.isDryRun()) {
-                        LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Delete comment %s"), comment);
-                    } else {
-                        comment.delete();
-                    }
-                    update = true;
-                    break;
-                }
+        PullRequestSnapshot snapshot = snapshot(pullRequest);
+        BotComments.BotComment comment = botComments.find(pullRequest, snapshot, firstLine);
+        if (comment != null) {
+            if (errors == null || errors.isEmpty()) {
+                botComments.delete(pullRequest, snapshot, comment);
+                return;
+            }
 
-                String updatedBody = commentBody.formatted(errors.stream()
-                        .map("- %s"::formatted)
-                        .collect(Collectors.joining("\n\n")));
+            String updatedBody = commentBody.formatted(errors.stream()
+                    .map("- %s"::formatted)
+                    .collect(Collectors.joining("\n\n")));
 
-                if (wildFlyBotConfig.isDryRun()) {
-                    LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Update comment \"%s\" to \"%s\""), comment.getBody(),
-                            updatedBody);
-                } else {
-                    comment.update(updatedBody);
-                }
-                update = true;
-                break;
-            }
+            botComments.update(pullRequest, snapshot, comment, updatedBody);
+            return;
         }
 
-        if (!update && errors != null && !errors.isEmpty()) {
+        if (errors != null && !errors.isEmpty()) {
             String updatedBody = commentBody.formatted(errors.stream()
                     .map("- %s"::formatted)
                     .collect(Collectors.joining("\n\n")));
-            if (wildFlyBotConfig.isDryRun()) {
-                LOG.infof(RuntimeConstants.DRY_RUN_PREPEND.formatted("Add new comment %s"), updatedBody);
-            } else {
-                pullRequest.comment(updatedBody);
-            }
+            botComments.create(pullRequest, snapshot, firstLine, updatedBody);
         }
     }
 }
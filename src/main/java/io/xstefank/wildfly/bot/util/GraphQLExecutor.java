@@ -0,0 +1,19 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.json.JsonObject;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Executes GraphQL queries against the GitHub GraphQL API, or any server implementing the same schema.
+ */
+@FunctionalInterface
+public interface GraphQLExecutor {
+
+    /**
+     * @return the {@code data} of the response
+     * @throws IOException if the query failed or the response contains errors
+     */
+    JsonObject execute(String query, Map<String, Object> variables) throws IOException;
+}
@@ -0,0 +1,246 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the state of a pull request read by the processors with a single GraphQL query, instead of listing the
+ * files, commits, labels and requested reviewers through separate paginated REST endpoints.
+ * <p>
+ * All connections are requested with the first query. Connections having more than {@value #PAGE_SIZE} nodes are
+ * then fetched with follow-up queries, which include only the connections which still have a next page.
+ */
+public class GraphQLPullRequestLoader {
+
+    static final int PAGE_SIZE = 100;
+
+    static final String QUERY = """
+            query($owner: String!, $name: String!, $number: Int!, $pageSize: Int!,
+                    $withFiles: Boolean!, $filesCursor: String,
+                    $withCommits: Boolean!, $commitsCursor: String,
+                    $withLabels: Boolean!, $labelsCursor: String,
+                    $withReviewRequests: Boolean!, $reviewRequestsCursor: String) {
+              repository(owner: $owner, name: $name) {
+                pullRequest(number: $number) {
+                  title
+                  body
+                  isDraft
+                  mergeable
+                  headRefOid
+                  author { login }
+                  files(first: $pageSize, after: $filesCursor) @include(if: $withFiles) {
+                    pageInfo { hasNextPage endCursor }
+                    nodes { path }
+                  }
+                  commits(first: $pageSize, after: $commitsCursor) @include(if: $withCommits) {
+                    pageInfo { hasNextPage endCursor }
+                    nodes { commit { oid message } }
+                  }
+                  labels(first: $pageSize, after: $labelsCursor) @include(if: $withLabels) {
+                    pageInfo { hasNextPage endCursor }
+                    nodes { name }
+                  }
+                  reviewRequests(first: $pageSize, after: $reviewRequestsCursor) @include(if: $withReviewRequests) {
+                    pageInfo { hasNextPage endCursor }
+                    nodes { requestedReviewer { ... on User { login } } }
+                  }
+                }
+              }
+            }""";
+
+    private static final String FILES = "files";
+    private static final String COMMITS = "commits";
+    private static final String LABELS = "labels";
+    private static final String REVIEW_REQUESTS = "reviewRequests";
+    private static final List<String> CONNECTIONS = List.of(FILES, COMMITS, LABELS, REVIEW_REQUESTS);
+
+    private final GraphQLExecutor executor;
+
+    public GraphQLPullRequestLoader(GraphQLExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param repository full name of the repository, i.e. {@code owner/name}
+     */
+    public GraphQLPullRequest load(String repository, int number) throws IOException {
+        String[] ownerAndName = repository.split("/", 2);
+        if (ownerAndName.length != 2) {
+            throw new IllegalArgumentException("Invalid repository name " + repository);
+        }
+
+        Map<String, String> cursors = new HashMap<>();
+        Set<String> pending = new LinkedHashSet<>(CONNECTIONS);
+        Map<String, List<JsonObject>> nodes = new HashMap<>();
+        JsonObject pullRequest = null;
+
+        while (!pending.isEmpty()) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("owner", ownerAndName[0]);
+            variables.put("name", ownerAndName[1]);
+            variables.put("number", number);
+            variables.put("pageSize", PAGE_SIZE);
+            for (String connection : CONNECTIONS) {
+                String name = Character.toUpperCase(connection.charAt(0)) + connection.substring(1);
+                variables.put("with" + name, pending.contains(connection));
+                variables.put(connection + "Cursor", cursors.get(connection));
+            }
+
+            JsonObject page = pullRequest(executor.execute(QUERY, variables), repository, number);
+            if (pullRequest == null) {
+                pullRequest = page;
+            }
+
+            for (String connection : List.copyOf(pending)) {
+                JsonObject connectionPage = object(page, connection);
+                if (connectionPage == null) {
+                    throw new IOException("Missing %s of the pull request %s#%d".formatted(connection, repository, number));
+                }
+                List<JsonObject> connectionNodes = nodes.computeIfAbsent(connection, c -> new ArrayList<>());
+                JsonArray pageNodes = isAbsent(connectionPage, "nodes") ? JsonValue.EMPTY_JSON_ARRAY
+                        : connectionPage.getJsonArray("nodes");
+                for (JsonValue node : pageNodes) {
+                    if (node.getValueType() == JsonValue.ValueType.OBJECT) {
+                        connectionNodes.add(node.asJsonObject());
+                    }
+                }
+
+                JsonObject pageInfo = object(connectionPage, "pageInfo");
+                if (pageInfo != null && pageInfo.getBoolean("hasNextPage", false) && !isAbsent(pageInfo, "endCursor")) {
+                    cursors.put(connection, pageInfo.getString("endCursor"));
+                } else {
+                    pending.remove(connection);
+                }
+            }
+        }
+
+        return new GraphQLPullRequest(pullRequest, nodes);
+    }
+
+    private static JsonObject pullRequest(JsonObject data, String repository, int number) throws IOException {
+        JsonObject pullRequest = object(object(data, "repository"), "pullRequest");
+        if (pullRequest == null) {
+            throw new IOException("Pull request %s#%d not found".formatted(repository, number));
+        }
+        return pullRequest;
+    }
+
+    private static boolean isAbsent(JsonObject object, String name) {
+        return object == null || !object.containsKey(name) || object.isNull(name);
+    }
+
+    private static String string(JsonObject object, String name) {
+        return isAbsent(object, name) ? null : object.getString(name);
+    }
+
+    private static JsonObject object(JsonObject object, String name) {
+        return isAbsent(object, name) ? null : object.getJsonObject(name);
+    }
+
+    /**
+     * State of a pull request as loaded by {@link GraphQLPullRequestLoader}.
+     */
+    public static final class GraphQLPullRequest implements PullRequestContent {
+
+        private final String title;
+        private final String body;
+        private final String author;
+        private final boolean draft;
+        private final Boolean mergeable;
+        private final String headSha;
+        private final List<String> filenames = new ArrayList<>();
+        private final List<Commit> commits = new ArrayList<>();
+        private final Set<String> labels = new LinkedHashSet<>();
+        private final Set<String> requestedReviewers = new LinkedHashSet<>();
+
+        private GraphQLPullRequest(JsonObject pullRequest, Map<String, List<JsonObject>> nodes) {
+            title = string(pullRequest, "title");
+            body = string(pullRequest, "body");
+            author = string(object(pullRequest, "author"), "login");
+            draft = pullRequest.getBoolean("isDraft", false);
+            mergeable = switch (String.valueOf(string(pullRequest, "mergeable"))) {
+                case "MERGEABLE" -> true;
+                case "CONFLICTING" -> false;
+                default -> null;
+            };
+            headSha = string(pullRequest, "headRefOid");
+
+            for (JsonObject file : nodes.getOrDefault(FILES, List.of())) {
+                filenames.add(string(file, "path"));
+            }
+            for (JsonObject commit : nodes.getOrDefault(COMMITS, List.of())) {
+                JsonObject details = object(commit, "commit");
+                if (details != null) {
+                    commits.add(new Commit(string(details, "oid"), string(details, "message")));
+                }
+            }
+            for (JsonObject label : nodes.getOrDefault(LABELS, List.of())) {
+                labels.add(string(label, "name"));
+            }
+            for (JsonObject reviewRequest : nodes.getOrDefault(REVIEW_REQUESTS, List.of())) {
+                // teams have no login
+                String login = string(object(reviewRequest, "requestedReviewer"), "login");
+                if (login != null) {
+                    requestedReviewers.add(login);
+                }
+            }
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getBody() {
+            return body;
+        }
+
+        @Override
+        public String getAuthor() {
+            return author;
+        }
+
+        @Override
+        public List<Commit> getCommits() {
+            return Collections.unmodifiableList(commits);
+        }
+
+        public boolean isDraft() {
+            return draft;
+        }
+
+        /**
+         * @return whether the pull request can be merged, or null if GitHub has not computed it yet
+         */
+        public Boolean getMergeable() {
+            return mergeable;
+        }
+
+        public String getHeadSha() {
+            return headSha;
+        }
+
+        public List<String> getFilenames() {
+            return Collections.unmodifiableList(filenames);
+        }
+
+        public Set<String> getLabels() {
+            return Collections.unmodifiableSet(labels);
+        }
+
+        public Set<String> getRequestedReviewers() {
+            return Collections.unmodifiableSet(requestedReviewers);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the requests of the GitHub clients through a single shared {@link HttpClient}, which negotiates HTTP/2 and
+ * keeps its connections alive, so that the short API calls made from many worker threads reuse a few connections
+ * instead of each opening its own connection and TLS session. Responses are requested compressed and decompressed
+ * when their body is read.
+ * <p>
+ * At most the given number of requests to the same host are in flight at once, further requests wait for a response
+ * to be closed, for at most the given time. A request which does not get its turn in time is not sent and fails with
+ * a {@link GitHubUnavailableException}, so that a host which stopped answering can not hold the calling threads
+ * beyond the wait of the {@link GitHubBulkheads}. The connection pool and keep-alive timeout of the
+ * {@link HttpClient} are tuned by the {@code jdk.httpclient.*} system properties.
+ * <p>
+ * The {@code HttpClientGitHubConnector} of the GitHub API library builds its {@link HttpRequest} itself and sets no
+ * timeout, so a request to a server which does not answer blocks its thread for good. This connector sends every
+ * request with the given request timeout.
+ */
+public class HttpClientConnector implements GitHubConnector {
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    /**
+     * Headers set by the {@link HttpClient} itself, which it does not allow to be set on a request.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxConcurrentRequestsPerHost;
+    private final Duration maxWait;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param requestTimeout time to wait for the status and headers of a response, an {@link
+     *        java.net.http.HttpTimeoutException} is thrown once it elapses
+     */
+    public HttpClientConnector(HttpClient client, Duration requestTimeout, int maxConcurrentRequestsPerHost,
+            Duration maxWait) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * @return client preferring HTTP/2, which is meant to be shared by all connectors
+     */
+    public static HttpClient newHttpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        HttpRequest httpRequest = toHttpRequest(request);
+        Semaphore permits = hosts.computeIfAbsent(host(request.url()),
+                host -> new Semaphore(maxConcurrentRequestsPerHost, true));
+
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new GitHubUnavailableException("Too many requests in flight to " + host(request.url()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send a request to " + request.url());
+        }
+        try {
+            HttpResponse<InputStream> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+            return new HttpClientConnectorResponse(request, response, permits);
+        } catch (InterruptedException e) {
+            permits.release();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sending a request to " + request.url());
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private HttpRequest toHttpRequest(GitHubConnectorRequest request) throws IOException {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(request.url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid URL " + request.url(), e);
+        }
+
+        HttpRequest.BodyPublisher body = request.hasBody()
+                ? HttpRequest.BodyPublishers.ofInputStream(request::body)
+                : HttpRequest.BodyPublishers.noBody();
+        builder.method(request.method(), body);
+        builder.timeout(requestTimeout);
+
+        for (Map.Entry<String, List<String>> header : request.allHeaders().entrySet()) {
+            if (header.getKey() == null || RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        if (request.header(ACCEPT_ENCODING) == null) {
+            builder.header(ACCEPT_ENCODING, "gzip");
+        }
+        return builder.build();
+    }
+
+    private static String host(URL url) {
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return url.getProtocol() + "://" + url.getHost() + ":" + port;
+    }
+
+    private static final class HttpClientConnectorResponse extends GitHubConnectorResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final Semaphore permits;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private InputStream body;
+
+        private HttpClientConnectorResponse(GitHubConnectorRequest request, HttpResponse<InputStream> response,
+                Semaphore permits) {
+            super(request, response.statusCode(), response.headers().map());
+            this.response = response;
+            this.permits = permits;
+        }
+
+        @Override
+        public synchronized InputStream bodyStream() throws IOException {
+            if (body == null) {
+                body = wrapStream(response.body());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    // the connection is only returned to the pool once the body is consumed or closed
+                    response.body().close();
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.quarkiverse.githubapp.GitHubClientProvider;
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.GHAppInstallationToken;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.authorization.AuthorizationProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares one GitHub client per installation between the event handlers, see {@link CustomizedGitHubService}, the
+ * startup validation and the {@link PullRequestMergableProcessor}. The installation token of each client is refreshed
+ * in the background before it expires, so that no API call has to wait for a new token to be created. An
+ * installation whose client was not used during the lifetime of its token is not refreshed anymore and its client is
+ * created again when needed.
+ * <p>
+ * The clients are customized by the {@link GitHubClientCustomizer}. The time it takes to create the installation
+ * tokens is reported by the {@link InstallationClientsHealthCheck}.
+ * <p>
+ * The cache is configured by {@code wildfly-bot.installation-clients.*}. If it is disabled, the clients are obtained
+ * from the {@link GitHubClientProvider} for every call.
+ */
+@ApplicationScoped
+public class InstallationClients {
+
+    private static final Logger LOG = Logger.getLogger(InstallationClients.class);
+
+    /**
+     * Tokens this close to their expiry are not used anymore, the request would likely fail on the way.
+     */
+    private static final Duration EXPIRY_SAFETY_MARGIN = Duration.ofMinutes(1);
+
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final Map<Long, Installation> installations = new ConcurrentHashMap<>();
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalRefreshNanos = new AtomicLong();
+    private final AtomicLong maxRefreshNanos = new AtomicLong();
+    private volatile long lastRefreshNanos;
+
+    @Inject
+    GitHubClientProvider clientProvider;
+
+    @Inject
+    GitHubClientCustomizer gitHubClientCustomizer;
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    @ConfigProperty(name = "quarkus.github-app.instance-endpoint", defaultValue = "https://api.github.com")
+    String instanceEndpoint;
+
+    private boolean enabled;
+    private Duration refreshBeforeExpiry;
+
+    private ScheduledExecutorService executor;
+
+    InstallationClients() {
+    }
+
+    /**
+     * Creates enabled installation clients, which are not customized apart from the given customizer.
+     */
+    InstallationClients(GitHubClientProvider clientProvider, GitHubClientCustomizer gitHubClientCustomizer,
+            String instanceEndpoint, Duration refreshBeforeExpiry) {
+        this.clientProvider = clientProvider;
+        this.gitHubClientCustomizer = gitHubClientCustomizer;
+        this.instanceEndpoint = instanceEndpoint;
+        configure(true, refreshBeforeExpiry);
+    }
+
+    @PostConstruct
+    void init() {
+        configure(wildFlyBotConfig.installationClientsEnabled(),
+                wildFlyBotConfig.installationClientsRefreshBeforeExpiry());
+    }
+
+    private void configure(boolean enabled, Duration refreshBeforeExpiry) {
+        this.enabled = enabled;
+        this.refreshBeforeExpiry = refreshBeforeExpiry;
+        if (enabled) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wildfly-bot-installation-tokens");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the client of the installation, shared by all callers
+     */
+    public GitHub get(long installationId) throws IOException {
+        if (!isEnabled()) {
+            return clientProvider.getInstallationClient(installationId);
+        }
+        return installations.computeIfAbsent(installationId, Installation::new).client();
+    }
+
+    /**
+     * Forgets the client of the installation, e.g. once the installation is suspended.
+     */
+    public void evict(long installationId) {
+        Installation installation = installations.remove(installationId);
+        if (installation != null) {
+            installation.cancelRefresh();
+        }
+    }
+
+    public int size() {
+        return installations.size();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public double getAverageRefreshMillis() {
+        long count = refreshes.get();
+        return count == 0 ? 0 : totalRefreshNanos.get() / 1_000_000d / count;
+    }
+
+    public double getMaxRefreshMillis() {
+        return maxRefreshNanos.get() / 1_000_000d;
+    }
+
+    public double getLastRefreshMillis() {
+        return lastRefreshNanos / 1_000_000d;
+    }
+
+    private void recordRefresh(long nanos) {
+        refreshes.incrementAndGet();
+        totalRefreshNanos.addAndGet(nanos);
+        maxRefreshNanos.accumulateAndGet(nanos, Math::max);
+        lastRefreshNanos = nanos;
+    }
+
+    /**
+     * Client of an installation together with its token, which the client asks for before every request.
+     */
+    private final class Installation implements AuthorizationProvider {
+
+        private final long id;
+
+        private GitHub client;
+        private ScheduledFuture<?> scheduledRefresh;
+
+        private volatile String token;
+        private volatile Instant expiresAt = Instant.MIN;
+        private volatile boolean used;
+
+        private Installation(long id) {
+            this.id = id;
+        }
+
+        private synchronized GitHub client() throws IOException {
+            used = true;
+            if (client == null) {
+                refresh();
+                GitHubBuilder builder = new GitHubBuilder()
+                        .withEndpoint(instanceEndpoint)
+                        .withAuthorizationProvider(this);
+                gitHubClientCustomizer.customize(builder, id);
+                client = builder.build();
+            }
+            return client;
+        }
+
+        @Override
+        public String getEncodedAuthorization() throws IOException {
+            used = true;
+            if (isExpired()) {
+                synchronized (this) {
+                    // the background refresh failed or is late
+                    if (isExpired()) {
+                        refresh();
+                    }
+                }
+            }
+            return "token " + token;
+        }
+
+        private boolean isExpired() {
+            return Instant.now().isAfter(expiresAt.minus(EXPIRY_SAFETY_MARGIN));
+        }
+
+        private synchronized void refresh() throws IOException {
+            long start = System.nanoTime();
+            GHAppInstallationToken created;
+            try {
+                created = clientProvider.getApplicationClient().getApp().getInstallationById(id).createToken().create();
+                token = created.getToken();
+                expiresAt = created.getExpiresAt().toInstant();
+            } catch (IOException | RuntimeException e) {
+                failures.incrementAndGet();
+                scheduleRefresh(RETRY_DELAY);
+                throw e;
+            }
+            recordRefresh(System.nanoTime() - start);
+            LOG.debugf("Created a token for the installation %d expiring at %s", id, expiresAt);
+
+            Duration untilRefresh = Duration.between(Instant.now(), expiresAt.minus(refreshBeforeExpiry));
+            scheduleRefresh(untilRefresh.isNegative() ? Duration.ZERO : untilRefresh);
+        }
+
+        private synchronized void scheduleRefresh(Duration delay) {
+            cancelRefresh();
+            if (executor.isShutdown()) {
+                return;
+            }
+            scheduledRefresh = executor.schedule(this::refreshInBackground, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void cancelRefresh() {
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+                scheduledRefresh = null;
+            }
+        }
+
+        private void refreshInBackground() {
+            if (!used) {
+                LOG.debugf("The client of the installation %d was not used since its last token, forgetting it", id);
+                installations.remove(id, this);
+                return;
+            }
+            used = false;
+            try {
+                refresh();
+            } catch (IOException | RuntimeException e) {
+                LOG.warnf(e, "Unable to refresh the token of the installation %d, retrying in %s", id, RETRY_DELAY);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.Locale;
+
+/**
+ * Reports the shared {@link InstallationClients} and the latency of their token refreshes, the check itself is always
+ * up.
+ */
+@Readiness
+@ApplicationScoped
+public class InstallationClientsHealthCheck implements HealthCheck {
+
+    @Inject
+    InstallationClients installationClients;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("GitHub installation clients")
+                .up()
+                .withData("enabled", installationClients.isEnabled())
+                .withData("installations", installationClients.size())
+                .withData("tokenRefreshes", installationClients.getRefreshes())
+                .withData("tokenRefreshFailures", installationClients.getFailures())
+                .withData("tokenRefreshAverageMillis",
+                        String.format(Locale.ROOT, "%.1f", installationClients.getAverageRefreshMillis()))
+                .withData("tokenRefreshMaxMillis",
+                        String.format(Locale.ROOT, "%.1f", installationClients.getMaxRefreshMillis()))
+                .withData("tokenRefreshLastMillis",
+                        String.format(Locale.ROOT, "%.1f", installationClients.getLastRefreshMillis()))
+                .build();
+    }
+}
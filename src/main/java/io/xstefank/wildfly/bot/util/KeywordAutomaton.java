@@ -0,0 +1,221 @@
+package io.xstefank.wildfly.bot.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+/**
+ * Aho-Corasick automaton detecting a set of literal keywords in a single pass over a text.
+ * <p>
+ * Matching follows the semantics of {@code Pattern.compile("\\b(" + keyword + ")\\b",
+ * Pattern.DOTALL | Pattern.CASE_INSENSITIVE)}, i.e. ASCII case-insensitive matching with
+ * word boundaries as defined by {@link Pattern}. Only keywords accepted by {@link #isLiteral(String)}
+ * can be added, every other expression has to be evaluated as a regular expression.
+ */
+public final class KeywordAutomaton {
+
+    private static final int ASCII = 128;
+
+    /**
+     * A keyword must start and end with a word character so that {@code \b} on both of its sides
+     * only depends on the surrounding text. Characters in between must not have any special meaning in a regex.
+     */
+    private static final Pattern LITERAL = Pattern.compile("[A-Za-z0-9_]([A-Za-z0-9_ \\-/:@#,;'\"=!%&~<>`]*[A-Za-z0-9_])?");
+
+    private final int[] alphabet;
+    private final int alphabetSize;
+    private final int[][] transitions;
+    private final int[] keywordAt;
+    private final int[] outputLink;
+    private final int[] keywordLengths;
+
+    private KeywordAutomaton(List<String> keywords) {
+        alphabet = new int[ASCII];
+        int columns = 1;
+        for (String keyword : keywords) {
+            for (char c : keyword.toCharArray()) {
+                if (alphabet[c] == 0) {
+                    alphabet[c] = columns++;
+                }
+            }
+        }
+        alphabetSize = columns;
+        keywordLengths = keywords.stream().mapToInt(String::length).toArray();
+
+        // build the trie, state 0 being the root
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> keywordsAt = new ArrayList<>();
+        trie.add(newState());
+        keywordsAt.add(-1);
+        for (int k = 0; k < keywords.size(); k++) {
+            int state = 0;
+            for (char c : keywords.get(k).toCharArray()) {
+                int column = alphabet[c];
+                if (trie.get(state)[column] <= 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(newState());
+                    keywordsAt.add(-1);
+                }
+                state = trie.get(state)[column];
+            }
+            if (keywordsAt.get(state) >= 0) {
+                throw new IllegalArgumentException("Duplicate keyword [" + keywords.get(k) + "]");
+            }
+            keywordsAt.set(state, k);
+        }
+
+        transitions = trie.toArray(int[][]::new);
+        keywordAt = keywordsAt.stream().mapToInt(Integer::intValue).toArray();
+        outputLink = new int[transitions.length];
+        int[] failure = new int[transitions.length];
+
+        // breadth-first computation of failure links, turning the trie into a complete DFA
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < alphabetSize; column++) {
+            int next = transitions[0][column];
+            if (next > 0) {
+                failure[next] = 0;
+                outputLink[next] = -1;
+                queue.add(next);
+            } else {
+                transitions[0][column] = 0;
+            }
+        }
+        outputLink[0] = -1;
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int column = 0; column < alphabetSize; column++) {
+                int next = transitions[state][column];
+                if (next > 0) {
+                    int fallback = transitions[failure[state]][column];
+                    failure[next] = fallback;
+                    outputLink[next] = keywordAt[fallback] >= 0 ? fallback : outputLink[fallback];
+                    queue.add(next);
+                } else {
+                    transitions[state][column] = transitions[failure[state]][column];
+                }
+            }
+        }
+    }
+
+    private int[] newState() {
+        int[] state = new int[alphabetSize];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * @param keywords literal keywords, the index in the list is the keyword id reported by {@link #scan(String)}
+     */
+    public static KeywordAutomaton build(List<String> keywords) {
+        List<String> normalized = new ArrayList<>(keywords.size());
+        for (String keyword : keywords) {
+            if (!isLiteral(keyword)) {
+                throw new IllegalArgumentException("Keyword [" + keyword + "] is not a plain literal");
+            }
+            normalized.add(toLowerCase(keyword));
+        }
+        return new KeywordAutomaton(normalized);
+    }
+
+    /**
+     * Returns true if the expression contains no regex construct, thus it can be matched as a keyword.
+     */
+    public static boolean isLiteral(String expression) {
+        return expression != null && LITERAL.matcher(expression).matches();
+    }
+
+    /**
+     * Scans the text once and returns ids of all keywords found in it as a whole word.
+     */
+    public BitSet scan(String text) {
+        BitSet found = new BitSet(keywordLengths.length);
+        if (Strings.isBlank(text)) {
+            return found;
+        }
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ASCII) {
+                state = 0;
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            state = transitions[state][alphabet[c]];
+
+            int output = keywordAt[state] >= 0 ? state : outputLink[state];
+            while (output >= 0) {
+                int keyword = keywordAt[output];
+                if (!found.get(keyword) && isWholeWord(text, i + 1 - keywordLengths[keyword], i + 1)) {
+                    found.set(keyword);
+                }
+                output = outputLink[output];
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return keywordLengths.length;
+    }
+
+    /**
+     * Both ends of a keyword are word characters, so {@code \b} holds if the characters around are not.
+     */
+    private static boolean isWholeWord(String text, int start, int end) {
+        return !isWordBefore(text, start) && !isWordAt(text, end);
+    }
+
+    // the following mirrors java.util.regex.Pattern.Bound
+    private static boolean isWordBefore(String text, int index) {
+        if (index <= 0) {
+            return false;
+        }
+        int codePoint = text.codePointBefore(index);
+        return isWord(codePoint) || (Character.getType(codePoint) == Character.NON_SPACING_MARK
+                && hasBaseCharacter(text, index - Character.charCount(codePoint)));
+    }
+
+    private static boolean isWordAt(String text, int index) {
+        if (index >= text.length()) {
+            return false;
+        }
+        int codePoint = text.codePointAt(index);
+        return isWord(codePoint) || (Character.getType(codePoint) == Character.NON_SPACING_MARK
+                && hasBaseCharacter(text, index));
+    }
+
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean hasBaseCharacter(String text, int index) {
+        for (int i = index; i >= 0; i--) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                return true;
+            }
+            if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String toLowerCase(String keyword) {
+        char[] chars = keyword.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -1,49 +1,23 @@
 package io.xstefank.wildfly.bot.util;
 
-import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
-import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestFileDetail;
 
-public class Matcher {
-
-    public static boolean notifyComment(GHPullRequest pullRequest, WildFlyRule rule) {
-        if (Strings.isNotBlank(rule.title)) {
-            if (Patterns.find(regexWordWrap(rule.title), pullRequest.getTitle())) {
-                return true;
-            }
-        }
-
-        if (Strings.isNotBlank(rule.body)) {
-            if (Patterns.find(regexWordWrap(rule.body), pullRequest.getBody())) {
-                return true;
-            }
-        }
-
-        if (Strings.isNotBlank(rule.titleBody)) {
-            if (Patterns.find(regexWordWrap(rule.titleBody), pullRequest.getTitle()) ||
-                    Patterns.find(regexWordWrap(rule.titleBody), pullRequest.getBody())) {
-                return true;
-            }
-        }
+import java.util.BitSet;
+import java.util.List;
 
-        return false;
-    }
-
-    public static boolean notifyRequestReview(GHPullRequest pullRequest, WildFlyRule rule) {
-        if (!rule.directories.isEmpty()) {
-            for (GHPullRequestFileDetail changedFile : pullRequest.listFiles()) {
-                for (String directory : rule.directories) {
-                    if (changedFile.getFilename().startsWith(directory.endsWith("/") ? directory : directory + "/")) {
-                        return true;
-                    }
-                }
-            }
-        }
+public class Matcher {
 
-        return false;
+    /**
+     * @return indexes of the rules from {@code rules} whose title, body or titleBody matches the pull request
+     */
+    public static BitSet notifyComment(PullRequestContent pullRequest, CompiledRules rules) {
+        return rules.matchComment(pullRequest.getTitle(), pullRequest.getBody());
     }
 
-    private static String regexWordWrap(String word) {
-        return "\\b(" + word + ")\\b";
+    /**
+     * @param changedFiles names of the files changed by the pull request, see {@link PullRequestSnapshot#getFilenames()}
+     * @return indexes of the rules from {@code rules} having a directory which contains one of the changed files
+     */
+    public static BitSet notifyRequestReview(List<String> changedFiles, CompiledRules rules) {
+        return rules.matchDirectories(changedFiles);
     }
 }
@@ -0,0 +1,162 @@
+package io.xstefank.wildfly.bot.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Glob pattern used in the {@code directories} of a rule. The following wildcards are supported:
+ * <ul>
+ * <li>{@code *} matches any number of characters within one path segment</li>
+ * <li>{@code **} matches any number of characters across path segments, {@code a/**&#47;b} also matches {@code a/b}</li>
+ * <li>{@code ?} matches exactly one character within one path segment</li>
+ * <li>{@code [abc]}, {@code [a-z]} and {@code [!abc]} match one character (not) in the class</li>
+ * <li>{@code \} escapes the following character</li>
+ * </ul>
+ * A file matches the glob if the glob matches the whole path of the file or any of its parent directories.
+ */
+public final class PathGlob {
+
+    private final String glob;
+    private final String literalPrefix;
+    private final Pattern tail;
+
+    private PathGlob(String glob, String literalPrefix, Pattern tail) {
+        this.glob = glob;
+        this.literalPrefix = literalPrefix;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns true if the value contains at least one wildcard, i.e. it can not be matched as a plain directory.
+     */
+    public static boolean isGlob(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (isWildcard(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the glob is malformed
+     */
+    public static PathGlob compile(String glob) {
+        String path = glob.endsWith("/") ? glob.substring(0, glob.length() - 1) : glob;
+        int firstWildcard = 0;
+        while (firstWildcard < path.length() && !isWildcard(path.charAt(firstWildcard))) {
+            firstWildcard++;
+        }
+        int prefixEnd = path.lastIndexOf('/', firstWildcard);
+        String literalPrefix = prefixEnd < 0 ? "" : path.substring(0, prefixEnd);
+        String tail = path.substring(prefixEnd + 1);
+        return new PathGlob(glob, literalPrefix, Pattern.compile(toRegex(glob, tail) + "(?:/.*)?", Pattern.DOTALL));
+    }
+
+    /**
+     * @return leading path segments which contain no wildcard, without the trailing {@code /}, or an empty string
+     */
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
+    /**
+     * @param path part of a file path following {@link #getLiteralPrefix()} and the {@code /} after it
+     */
+    public boolean matchesTail(CharSequence path) {
+        return tail.matcher(path).matches();
+    }
+
+    @Override
+    public String toString() {
+        return glob;
+    }
+
+    private static boolean isWildcard(char c) {
+        return c == '*' || c == '?' || c == '[' || c == '\\';
+    }
+
+    private static String toRegex(String glob, String tail) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < tail.length()) {
+            char c = tail.charAt(i);
+            switch (c) {
+                case '*' -> {
+                    if (i + 1 < tail.length() && tail.charAt(i + 1) == '*') {
+                        boolean wholeSegment = (i == 0 || tail.charAt(i - 1) == '/')
+                                && (i + 2 == tail.length() || tail.charAt(i + 2) == '/');
+                        if (wholeSegment && i + 2 < tail.length()) {
+                            // "**/" also matches no directory at all
+                            regex.append("(?:.*/)?");
+                            i += 3;
+                        } else {
+                            regex.append(".*");
+                            i += 2;
+                        }
+                    } else {
+                        regex.append("[^/]*");
+                        i++;
+                    }
+                }
+                case '?' -> {
+                    regex.append("[^/]");
+                    i++;
+                }
+                case '[' -> i = appendCharacterClass(glob, tail, i, regex);
+                case '\\' -> {
+                    if (i + 1 == tail.length()) {
+                        throw new IllegalArgumentException("Glob [" + glob + "] ends with an escape character");
+                    }
+                    appendLiteral(tail.charAt(i + 1), regex);
+                    i += 2;
+                }
+                default -> {
+                    appendLiteral(c, regex);
+                    i++;
+                }
+            }
+        }
+        return regex.toString();
+    }
+
+    private static int appendCharacterClass(String glob, String tail, int start, StringBuilder regex) {
+        int i = start + 1;
+        regex.append('[');
+        boolean negated = i < tail.length() && tail.charAt(i) == '!';
+        if (negated) {
+            regex.append('^');
+            i++;
+        }
+        boolean empty = true;
+        while (i < tail.length() && (tail.charAt(i) != ']' || empty)) {
+            char c = tail.charAt(i);
+            if (c == '/') {
+                throw new IllegalArgumentException("Glob [" + glob + "] contains '/' in a character class");
+            }
+            if (c == '-' && !empty && i + 1 < tail.length() && tail.charAt(i + 1) != ']') {
+                regex.append('-');
+            } else {
+                appendLiteral(c, regex);
+            }
+            empty = false;
+            i++;
+        }
+        if (i == tail.length()) {
+            throw new IllegalArgumentException("Glob [" + glob + "] contains an unclosed character class");
+        }
+        // a negated class must not match the separator either
+        if (negated) {
+            regex.append('/');
+        }
+        regex.append(']');
+        return i + 1;
+    }
+
+    private static void appendLiteral(char c, StringBuilder regex) {
+        if (Character.isLetterOrDigit(c) || c == '/' || c == '_') {
+            regex.append(c);
+        } else {
+            regex.append('\\').append(c);
+        }
+    }
+}
@@ -1,12 +1,31 @@
 package io.xstefank.wildfly.bot.util;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
  * Originally from https://github.com/quarkusio/quarkus-github-bot
+ * <p>
+ * Patterns come from the configuration file of a repository and are matched against arbitrary pull request
+ * content, so every match is time-bounded. A match exceeding {@link #MATCH_TIMEOUT} is aborted with
+ * a {@link RegexTimeoutException}.
  */
 public class Patterns {
 
+    public static final Duration MATCH_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * Budget of reads of a single input of {@link #isCatastrophic(Pattern)}. A linear or quadratic pattern needs
+     * a few million reads of the corpus, while exponential or higher polynomial backtracking exceeds this limit.
+     */
+    static final long VALIDATION_MAX_READS = 50_000_000L;
+
+    private static final int ADVERSARIAL_INPUT_LENGTH = 1_000;
+
     public static boolean find(String pattern, String string) {
         if (Strings.isBlank(pattern)) {
             return false;
@@ -15,8 +34,7 @@ public class Patterns {
             return false;
         }
 
-        return Pattern.compile(pattern, Pattern.DOTALL | Pattern.CASE_INSENSITIVE).matcher(string)
-                .find();
+        return find(Pattern.compile(pattern, Pattern.DOTALL | Pattern.CASE_INSENSITIVE), string);
     }
 
     public static boolean matches(Pattern pattern, String string) {
@@ -24,9 +42,136 @@ public class Patterns {
             return false;
         }
 
-        return pattern.matcher(string).find();
+        return find(pattern, string);
+    }
+
+    /**
+     * Time-bounded {@code pattern.matcher(string).find()}.
+     *
+     * @throws RegexTimeoutException if the match takes longer than {@link #MATCH_TIMEOUT}
+     */
+    public static boolean find(Pattern pattern, String string) {
+        return pattern.matcher(new BoundedCharSequence(string, new Budget(pattern, MATCH_TIMEOUT.toNanos(), Long.MAX_VALUE)))
+                .find();
+    }
+
+    /**
+     * Runs the pattern against inputs known to trigger catastrophic backtracking, i.e. long runs of the characters
+     * the pattern is built from followed by a character breaking the match. The budget is counted in reads of
+     * the input rather than in time, so that the result does not depend on the load of the machine.
+     *
+     * @return true if matching any of the inputs exceeds {@link #VALIDATION_MAX_READS} or the stack
+     */
+    public static boolean isCatastrophic(Pattern pattern) {
+        for (String input : adversarialCorpus(pattern)) {
+            try {
+                pattern.matcher(new BoundedCharSequence(input, new Budget(pattern, Long.MAX_VALUE, VALIDATION_MAX_READS)))
+                        .find();
+            } catch (RegexTimeoutException | StackOverflowError e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> adversarialCorpus(Pattern pattern) {
+        Set<Character> characters = new LinkedHashSet<>(List.of('a', '0', ' ', '-', '\n'));
+        String source = pattern.pattern();
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < source.length()) {
+                // escaped literal or a class such as \w, \d or \s which the defaults above already cover
+                i++;
+                if (!Character.isLetterOrDigit(source.charAt(i))) {
+                    characters.add(source.charAt(i));
+                }
+            } else if (c >= ' ' && c < 127 && "()[]{}|?*+^$.".indexOf(c) < 0) {
+                characters.add(c);
+            }
+        }
+
+        List<String> corpus = new ArrayList<>();
+        StringBuilder mixed = new StringBuilder();
+        for (char c : characters) {
+            corpus.add(String.valueOf(c).repeat(ADVERSARIAL_INPUT_LENGTH) + "\u0000");
+            mixed.append(c);
+        }
+        corpus.add(mixed.toString().repeat(ADVERSARIAL_INPUT_LENGTH / mixed.length()) + "\u0000");
+        return corpus;
     }
 
     private Patterns() {
     }
+
+    /**
+     * Backtracking re-reads the input, so counting reads bounds the work done by the matcher.
+     * The clock is only checked every {@link #CHECK_INTERVAL} reads.
+     */
+    private static final class BoundedCharSequence implements CharSequence {
+
+        private static final int CHECK_INTERVAL = 4096;
+
+        private final String string;
+        private final int offset;
+        private final int length;
+        private final Budget budget;
+
+        private BoundedCharSequence(String string, Budget budget) {
+            this(string, 0, string.length(), budget);
+        }
+
+        private BoundedCharSequence(String string, int offset, int length, Budget budget) {
+            this.string = string;
+            this.offset = offset;
+            this.length = length;
+            this.budget = budget;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++budget.reads % CHECK_INTERVAL == 0) {
+                budget.check();
+            }
+            return string.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new BoundedCharSequence(string, offset + start, end - start, budget);
+        }
+
+        @Override
+        public String toString() {
+            return string.substring(offset, offset + length);
+        }
+    }
+
+    private static final class Budget {
+        private final Pattern pattern;
+        private final long start = System.nanoTime();
+        private final long timeoutNanos;
+        private final long maxReads;
+        private long reads;
+
+        private Budget(Pattern pattern, long timeoutNanos, long maxReads) {
+            this.pattern = pattern;
+            this.timeoutNanos = timeoutNanos;
+            this.maxReads = maxReads;
+        }
+
+        private void check() {
+            if (reads > maxReads) {
+                throw new RegexTimeoutException(pattern, reads + " reads of the input");
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > timeoutNanos) {
+                throw new RegexTimeoutException(pattern, elapsed / 1_000_000 + " ms");
+            }
+        }
+    }
 }
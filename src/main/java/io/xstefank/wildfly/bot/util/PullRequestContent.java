@@ -0,0 +1,54 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.kohsuke.github.GHPullRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The content of a pull request read by the format checks and the rules, independently of how it was loaded.
+ *
+ * @see GraphQLPullRequestLoader
+ */
+public interface PullRequestContent {
+
+    String getTitle();
+
+    String getBody();
+
+    /**
+     * @return login of the user who opened the pull request
+     */
+    String getAuthor() throws IOException;
+
+    /**
+     * @return commits of the pull request, oldest first
+     */
+    List<Commit> getCommits() throws IOException;
+
+    /**
+     * @param snapshot provides the commits of the pull request, may be null
+     */
+    static PullRequestContent of(GHPullRequest pullRequest, PullRequestSnapshot snapshot) {
+        return new RestPullRequestContent(pullRequest, snapshot);
+    }
+
+    final class Commit {
+
+        private final String sha;
+        private final String message;
+
+        public Commit(String sha, String message) {
+            this.sha = sha;
+            this.message = message;
+        }
+
+        public String getSha() {
+            return sha;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.GHPullRequest;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the labels added and removed by all processors handling the incoming event, and writes the net changes
+ * of each pull request once the event is processed, submitted to the {@link WriteBehindQueue}: one {@code addLabels}
+ * call for the added labels, and one {@code removeLabels} call for the removed labels, which sends one request per
+ * label. Nothing is written if the resulting labels are the same as the labels the pull request had. Labels changed
+ * by anyone else meanwhile are left alone. A pending write of the labels of the same pull request is superseded, but
+ * its changes are merged into the new write.
+ * <p>
+ * The added and removed labels are applied to the {@link PullRequestSnapshot} right away, so that the processors
+ * handled later see the labels they will have.
+ */
+@RequestScoped
+public class PullRequestLabelWriter {
+
+    private static final Logger LOG = Logger.getLogger(PullRequestLabelWriter.class);
+
+    /**
+     * What the writes of the labels write to a pull request, see {@link WriteBehindQueue#pullRequestTarget}.
+     */
+    static final String KIND = "labels";
+
+    private final Map<Long, Changes> changes = new LinkedHashMap<>();
+
+    @Inject
+    PullRequestSnapshots pullRequestSnapshots;
+
+    @Inject
+    WriteBehindQueue writeBehindQueue;
+
+    public void addLabels(GHPullRequest pullRequest, Collection<String> labels) {
+        snapshot(pullRequest).labelsAdded(labels);
+    }
+
+    public void removeLabels(GHPullRequest pullRequest, Collection<String> labels) {
+        snapshot(pullRequest).labelsRemoved(labels);
+    }
+
+    private PullRequestSnapshot snapshot(GHPullRequest pullRequest) {
+        return changes.computeIfAbsent(pullRequest.getId(),
+                id -> new Changes(pullRequest, pullRequestSnapshots.get(pullRequest))).snapshot;
+    }
+
+    @PreDestroy
+    void flush() {
+        for (Changes pullRequestChanges : changes.values()) {
+            GHPullRequest pullRequest = pullRequestChanges.pullRequest;
+            Set<String> labels = pullRequestChanges.snapshot.getLabels();
+            Set<String> added = new LinkedHashSet<>(labels);
+            added.removeAll(pullRequestChanges.originalLabels);
+            Set<String> removed = new LinkedHashSet<>(pullRequestChanges.originalLabels);
+            removed.removeAll(labels);
+            if (added.isEmpty() && removed.isEmpty()) {
+                continue;
+            }
+            try {
+                submit(writeBehindQueue, pullRequest, "Pull Request [#%d] - Add the labels %s and remove the labels %s"
+                        .formatted(pullRequest.getNumber(), added, removed), added, removed);
+            } catch (IOException | RuntimeException e) {
+                LOG.errorf(e, "Pull Request [#%d] - Unable to add the labels %s and remove the labels %s",
+                        pullRequest.getNumber(), added, removed);
+            }
+        }
+        changes.clear();
+    }
+
+    /**
+     * Submits a write adding and removing the given labels of the pull request. A pending write of the labels of the
+     * same pull request is superseded, but its changes are written as well.
+     */
+    public static void submit(WriteBehindQueue writeBehindQueue, GHPullRequest pullRequest, String description,
+            Collection<String> added, Collection<String> removed) throws IOException {
+        writeBehindQueue.submit(
+                () -> WriteBehindQueue.pullRequestTarget(pullRequest.getRepository().getFullName(),
+                        pullRequest.getNumber(), KIND),
+                description, new LabelChanges(pullRequest, added, removed));
+    }
+
+    private static final class Changes {
+
+        private final GHPullRequest pullRequest;
+        private final PullRequestSnapshot snapshot;
+
+        /**
+         * Labels of the pull request before the first change.
+         */
+        private final Set<String> originalLabels;
+
+        private Changes(GHPullRequest pullRequest, PullRequestSnapshot snapshot) {
+            this.pullRequest = pullRequest;
+            this.snapshot = snapshot;
+            this.originalLabels = new LinkedHashSet<>(snapshot.getLabels());
+        }
+    }
+
+    /**
+     * Labels to add to and to remove from a pull request.
+     */
+    private static final class LabelChanges implements WriteBehindQueue.MergingWrite {
+
+        private final GHPullRequest pullRequest;
+        private final Set<String> added;
+        private final Set<String> removed;
+
+        private LabelChanges(GHPullRequest pullRequest, Collection<String> added, Collection<String> removed) {
+            this.pullRequest = pullRequest;
+            this.added = new LinkedHashSet<>(added);
+            this.removed = new LinkedHashSet<>(removed);
+        }
+
+        @Override
+        public void write() throws IOException {
+            if (!added.isEmpty()) {
+                pullRequest.addLabels(added.toArray(String[]::new));
+            }
+            if (!removed.isEmpty()) {
+                pullRequest.removeLabels(removed.toArray(String[]::new));
+            }
+        }
+
+        @Override
+        public WriteBehindQueue.MergingWrite after(WriteBehindQueue.Write superseded) {
+            if (!(superseded instanceof LabelChanges older)) {
+                return this;
+            }
+            Set<String> mergedAdded = new LinkedHashSet<>(older.added);
+            mergedAdded.removeAll(removed);
+            mergedAdded.addAll(added);
+            Set<String> mergedRemoved = new LinkedHashSet<>(older.removed);
+            mergedRemoved.removeAll(added);
+            mergedRemoved.addAll(removed);
+            return new LabelChanges(pullRequest, mergedAdded, mergedRemoved);
+        }
+    }
+}
@@ -14,10 +14,11 @@ import org.kohsuke.github.GHRepository;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static io.xstefank.wildfly.bot.model.RuntimeConstants.DRY_RUN_PREPEND;
@@ -34,7 +35,12 @@ import static io.xstefank.wildfly.bot.model.RuntimeConstants.MAIN_BRANCH_REF;
  * status for individual pull requests. To adjust the timeout time please
  * see {@see io.xstefank.wildfly.bot.config.WildFlyBotConfig#timeout()}
  * <p>
- * In case a re-queried pull request fails, it will be only logged.
+ * In case a re-queried pull request fails, it will be only logged. A call of a pull request deferred by the
+ * {@link GitHubRateLimitBudget} or rejected by the {@link GitHubCircuitBreaker} is submitted again once it may be
+ * sent. If the pull requests can not be listed for the same reason, the whole update is deferred.
+ * <p>
+ * All GitHub API calls are made with the {@link ApiPriority#BACKGROUND} priority, by the client of the installation
+ * shared through {@link InstallationClients}.
  * <p>
  * Note: Do not call githubProcessor.LOG.setPullRequest inside parallel
  * Uni-s, i.e. inside the parameter `uniToExecute` in method
@@ -45,8 +51,11 @@ import static io.xstefank.wildfly.bot.model.RuntimeConstants.MAIN_BRANCH_REF;
 public class PullRequestMergableProcessor {
 
     private static final Logger LOGGER = Logger.getLogger(PullRequestMergableProcessor.class);
-    private static final Queue<Uni<List<GHPullRequest>>> pushPayloadsQueue = new LinkedList<>();
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_RESUBMISSIONS = 10;
+    private static final Deque<Uni<List<GHPullRequest>>> pushPayloadsQueue = new LinkedList<>();
     private boolean currentlyExecuting = false;
+    private int resubmissions = 0;
 
     @Inject
     GithubProcessor githubProcessor;
@@ -54,52 +63,56 @@ public class PullRequestMergableProcessor {
     @Inject
     WildFlyBotConfig wildFlyBotConfig;
 
-    private final Function<GHPullRequest, Uni<GHPullRequest>> pollGitHub = pullRequest -> Uni.createFrom()
-            .item(pullRequest)
-            .invoke(pullRequest1 -> {
+    @Inject
+    InstallationClients installationClients;
+
+    private final Function<GHPullRequest, Uni<GHPullRequest>> pollGitHub = pullRequest -> resubmitWhenDeferred(
+            Uni.createFrom()
+                    .item(pullRequest)
+                    .invoke(pullRequest1 -> {
+                        try {
+                            if (wildFlyBotConfig.isDryRun()) {
+                                LOGGER.info(DRY_RUN_PREPEND.formatted("Sending a request to GitHub for mergable status"));
+                            } else {
+                                ApiPriority.background(pullRequest1::getMergeable);
+                            }
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    })
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()));
+
+    private final Function<GHPullRequest, Uni<Void>> applyLabels = pullRequest -> resubmitWhenDeferred(
+            Uni.createFrom().item(() -> {
                 try {
+                    List<String> labelsToAdd = new ArrayList<>();
+                    List<String> labelsToRemove = new ArrayList<>();
                     if (wildFlyBotConfig.isDryRun()) {
-                        LOGGER.info(DRY_RUN_PREPEND.formatted("Sending a request to GitHub for mergable status"));
-                    } else {
-                        pullRequest1.getMergeable();
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            })
-            .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
-
-    private final Function<GHPullRequest, Uni<Void>> applyLabels = pullRequest -> {
-        try {
-            List<String> labelsToAdd = new ArrayList<>();
-            List<String> labelsToRemove = new ArrayList<>();
-            if (wildFlyBotConfig.isDryRun()) {
-                LOGGER.info(DRY_RUN_PREPEND.formatted("Retrieving mergable status and then we would apply labels accordingly"));
-            } else {
-                Optional<Boolean> mergable = Optional.ofNullable(pullRequest.getMergeable());
-                if (mergable.isPresent()) {
-                    if (mergable.get()) {
-                        labelsToRemove.add(LABEL_NEEDS_REBASE);
+                        LOGGER.info(DRY_RUN_PREPEND
+                                .formatted("Retrieving mergable status and then we would apply labels accordingly"));
                     } else {
-                        labelsToAdd.add(LABEL_NEEDS_REBASE);
+                        Optional<Boolean> mergable = Optional.ofNullable(ApiPriority.background(pullRequest::getMergeable));
+                        if (mergable.isPresent()) {
+                            if (mergable.get()) {
+                                labelsToRemove.add(LABEL_NEEDS_REBASE);
+                            } else {
+                                labelsToAdd.add(LABEL_NEEDS_REBASE);
+                            }
+                        }
                     }
-                }
-            }
 
-            return Uni.createFrom().voidItem().invoke(() -> {
-                try {
-                    githubProcessor.updateLabels(pullRequest, labelsToAdd, labelsToRemove);
+                    ApiPriority.background(() -> {
+                        githubProcessor.updateLabelsInBackground(pullRequest, labelsToAdd, labelsToRemove);
+                        return null;
+                    });
+                    return null;
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
-            });
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    };
+            }));
 
     public void addPushPayload(GHEventPayload.Push pushPayload) {
-        GHRepository repository = pushPayload.getRepository();
+        GHRepository repository = repository(pushPayload);
         GHEventPayload.Push.PushCommit headCommit = pushPayload.getHeadCommit();
 
         Uni<List<GHPullRequest>> mergableStatusUpdateUni = Uni.createFrom()
@@ -110,7 +123,7 @@ public class PullRequestMergableProcessor {
                         headCommit.getSha(), headCommit.getMessage()))
                 .map(ghPullRequests -> {
                     try {
-                        return ghPullRequests.toList();
+                        return ApiPriority.background(ghPullRequests::toList);
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
@@ -128,6 +141,24 @@ public class PullRequestMergableProcessor {
         subscription(null, headCommit);
     }
 
+    /**
+     * @return the repository of the push, read by the shared client of the installation if possible, as the scan may
+     *         outlive the client of the event
+     */
+    private GHRepository repository(GHEventPayload.Push pushPayload) {
+        GHRepository repository = pushPayload.getRepository();
+        if (installationClients.isEnabled() && pushPayload.getInstallation() != null) {
+            try {
+                return ApiPriority.background(() -> installationClients.get(pushPayload.getInstallation().getId())
+                        .getRepository(repository.getFullName()));
+            } catch (IOException e) {
+                LOGGER.debugf(e, "Unable to read the repository %s by the shared client, using the client of the event",
+                        repository.getFullName());
+            }
+        }
+        return repository;
+    }
+
     /**
      * Subscribes to the Uni<List<GHPullRequest>> and after the execution it subscribes to the next
      * such Uni, if available.
@@ -142,9 +173,28 @@ public class PullRequestMergableProcessor {
         }
         if (pushPayloadsQueue.peek() != null && !currentlyExecuting) {
             currentlyExecuting = true;
-            pushPayloadsQueue.poll().subscribe().with(list -> {
+            Uni<List<GHPullRequest>> mergableStatusUpdateUni = pushPayloadsQueue.poll();
+            mergableStatusUpdateUni.subscribe().with(list -> {
                 currentlyExecuting = false;
+                resubmissions = 0;
                 this.subscription(list, headCommit);
+            }, failure -> {
+                currentlyExecuting = false;
+                if (GitHubUnavailableException.isCause(failure) && resubmissions < MAX_RESUBMISSIONS) {
+                    // the pull requests could not be listed, scan again once the calls may be sent
+                    Duration delay = retryDelay(failure);
+                    LOGGER.infof("Deferring the mergable status update by %s: %s", delay, failure.getMessage());
+                    resubmissions++;
+                    pushPayloadsQueue.addFirst(mergableStatusUpdateUni);
+                    Uni.createFrom().voidItem()
+                            .onItem().delayIt().by(delay)
+                            .subscribe().with(ignored -> this.subscription(null, headCommit));
+                } else {
+                    resubmissions = 0;
+                    LOGGER.errorf(failure, "Unable to update the mergable status for new head [%s - \"%s\"]",
+                            headCommit.getSha(), headCommit.getMessage());
+                    this.subscription(null, headCommit);
+                }
             });
         }
     }
@@ -153,7 +203,7 @@ public class PullRequestMergableProcessor {
         List<String> unknownPullRequests = ghPullRequests.stream()
                 .filter(pullRequest -> {
                     try {
-                        return pullRequest.getMergeable() == null;
+                        return ApiPriority.background(pullRequest::getMergeable) == null;
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
@@ -174,6 +224,24 @@ public class PullRequestMergableProcessor {
         }
     }
 
+    /**
+     * Submits the calls of the given Uni again once they may be sent, if they are deferred by the
+     * {@link GitHubRateLimitBudget} or rejected by the {@link GitHubCircuitBreaker} or the {@link GitHubBulkheads}.
+     * No thread waits meanwhile. The Uni fails once it has been submitted again {@value #MAX_RESUBMISSIONS} times.
+     */
+    private static <T> Uni<T> resubmitWhenDeferred(Uni<T> uni) {
+        AtomicInteger resubmissions = new AtomicInteger();
+        return uni.onFailure(GitHubUnavailableException::isCause).retry()
+                .when(failures -> failures.onItem().transformToUniAndConcatenate(
+                        failure -> resubmissions.getAndIncrement() < MAX_RESUBMISSIONS
+                                ? Uni.createFrom().voidItem().onItem().delayIt().by(retryDelay(failure))
+                                : Uni.createFrom().failure(failure)));
+    }
+
+    private static Duration retryDelay(Throwable failure) {
+        return Duration.ofMillis(Math.max(GitHubUnavailableException.retryAfterMillis(failure), MIN_RETRY_DELAY_MILLIS));
+    }
+
     private Function<List<GHPullRequest>, Uni<Void>> combineUnis(Function<GHPullRequest, Uni<?>> uniToExecute) {
         return ghPullRequests -> {
             List<Uni<?>> ghPullRequestsUni = ghPullRequests.stream()
@@ -0,0 +1,235 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.kohsuke.github.GHIssueComment;
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestCommitDetail;
+import org.kohsuke.github.GHPullRequestFileDetail;
+import org.kohsuke.github.GHUser;
+import org.kohsuke.github.PagedIterable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Changed files, comments, commits and labels of a pull request, each loaded lazily at most once. Changes made
+ * by the bot are applied to the snapshot as well, so that it keeps reflecting the pull request without being
+ * loaded again. See {@link PullRequestSnapshots} for the snapshots shared by all processors of an event.
+ * <p>
+ * Labels, requested reviewers and the draft flag are read from the pull request delivered with the webhook.
+ * The mergeable flag is often not computed yet when the webhook is sent, in which case reading it refreshes
+ * the whole pull request, so the flag is read at most once too.
+ * <p>
+ * The comments, labels and requested reviewers are copy-on-write collections in insertion order, because the
+ * {@link WriteBehindQueue} applies the writes of the bot to them from its own threads while the event is processed.
+ */
+public class PullRequestSnapshot {
+
+    private final GHPullRequest pullRequest;
+    private final ChangedFilesCache changedFilesCache;
+
+    private List<String> filenames;
+    // the comments, labels and reviewers are updated by the WriteBehindQueue threads as well
+    private volatile List<GHIssueComment> comments;
+    private List<PullRequestContent.Commit> commits;
+    private volatile Set<String> labels;
+    private volatile Set<String> requestedReviewers;
+    private Boolean draft;
+    private Boolean mergeable;
+    private boolean mergeableRead;
+    private Long installationId;
+
+    /**
+     * @param changedFilesCache used to get the changed files if enabled, may be null
+     */
+    public PullRequestSnapshot(GHPullRequest pullRequest, ChangedFilesCache changedFilesCache) {
+        this.pullRequest = pullRequest;
+        this.changedFilesCache = changedFilesCache;
+    }
+
+    /**
+     * @return id of the installation which delivered the pull request, or null if it is not known
+     */
+    public Long getInstallationId() {
+        return installationId;
+    }
+
+    public void setInstallationId(Long installationId) {
+        this.installationId = installationId;
+    }
+
+    /**
+     * @return names of the files changed by the pull request
+     */
+    public List<String> getFilenames() {
+        if (filenames == null) {
+            if (changedFilesCache != null && changedFilesCache.isEnabled()) {
+                filenames = changedFilesCache.filenames(pullRequest);
+            } else {
+                List<String> changedFiles = new ArrayList<>();
+                for (GHPullRequestFileDetail changedFile : toList(pullRequest.listFiles())) {
+                    changedFiles.add(changedFile.getFilename());
+                }
+                filenames = List.copyOf(changedFiles);
+            }
+        }
+        return filenames;
+    }
+
+    /**
+     * @return comments of the pull request in the order they were created
+     */
+    public List<GHIssueComment> getComments() throws IOException {
+        if (comments == null) {
+            comments = new CopyOnWriteArrayList<>(toList(pullRequest.listComments()));
+        }
+        return Collections.unmodifiableList(comments);
+    }
+
+    public List<PullRequestContent.Commit> getCommits() {
+        if (commits == null) {
+            commits = toCommits(pullRequest.listCommits());
+        }
+        return Collections.unmodifiableList(commits);
+    }
+
+    /**
+     * @return names of the labels of the pull request
+     */
+    public Set<String> getLabels() {
+        if (labels == null) {
+            Set<String> currentLabels = new LinkedHashSet<>();
+            Collection<GHLabel> labelsOfPullRequest = pullRequest.getLabels();
+            if (labelsOfPullRequest != null) {
+                for (GHLabel label : labelsOfPullRequest) {
+                    currentLabels.add(label.getName());
+                }
+            }
+            labels = new CopyOnWriteArraySet<>(currentLabels);
+        }
+        return Collections.unmodifiableSet(labels);
+    }
+
+    /**
+     * @return logins of the users whose review is requested
+     */
+    public Set<String> getRequestedReviewers() throws IOException {
+        if (requestedReviewers == null) {
+            Set<String> currentReviewers = new LinkedHashSet<>();
+            List<GHUser> reviewersOfPullRequest = pullRequest.getRequestedReviewers();
+            if (reviewersOfPullRequest != null) {
+                for (GHUser reviewer : reviewersOfPullRequest) {
+                    currentReviewers.add(reviewer.getLogin());
+                }
+            }
+            requestedReviewers = new CopyOnWriteArraySet<>(currentReviewers);
+        }
+        return Collections.unmodifiableSet(requestedReviewers);
+    }
+
+    public boolean isDraft() throws IOException {
+        if (draft == null) {
+            draft = pullRequest.isDraft();
+        }
+        return draft;
+    }
+
+    /**
+     * @return whether the pull request can be merged, or null if GitHub has not computed it yet
+     */
+    public Boolean getMergeable() throws IOException {
+        if (!mergeableRead) {
+            mergeable = pullRequest.getMergeable();
+            mergeableRead = true;
+        }
+        return mergeable;
+    }
+
+    public void commentAdded(GHIssueComment comment) {
+        List<GHIssueComment> currentComments = comments;
+        if (currentComments != null && comment != null) {
+            currentComments.add(comment);
+        }
+    }
+
+    public void commentDeleted(GHIssueComment comment) {
+        List<GHIssueComment> currentComments = comments;
+        if (currentComments != null) {
+            // the comment may have been read again, so it is not the same instance
+            currentComments.removeIf(current -> current.getId() == comment.getId());
+        }
+    }
+
+    public void labelsAdded(Collection<String> added) {
+        Set<String> currentLabels = labels;
+        if (currentLabels != null) {
+            currentLabels.addAll(added);
+        }
+    }
+
+    public void labelsRemoved(Collection<String> removed) {
+        Set<String> currentLabels = labels;
+        if (currentLabels != null) {
+            currentLabels.removeAll(removed);
+        }
+    }
+
+    public void reviewersRequested(Collection<String> reviewers) {
+        Set<String> currentReviewers = requestedReviewers;
+        if (currentReviewers != null) {
+            currentReviewers.addAll(reviewers);
+        }
+    }
+
+    /**
+     * Fills the parts of the snapshot which were not loaded yet from the state loaded through GraphQL.
+     */
+    public void preload(GraphQLPullRequestLoader.GraphQLPullRequest loaded) {
+        if (filenames == null) {
+            filenames = List.copyOf(loaded.getFilenames());
+        }
+        if (commits == null) {
+            commits = new ArrayList<>(loaded.getCommits());
+        }
+        if (labels == null) {
+            labels = new CopyOnWriteArraySet<>(loaded.getLabels());
+        }
+        if (requestedReviewers == null) {
+            requestedReviewers = new CopyOnWriteArraySet<>(loaded.getRequestedReviewers());
+        }
+        if (draft == null) {
+            draft = loaded.isDraft();
+        }
+        if (!mergeableRead && loaded.getMergeable() != null) {
+            mergeable = loaded.getMergeable();
+            mergeableRead = true;
+        }
+    }
+
+    static List<PullRequestContent.Commit> toCommits(PagedIterable<GHPullRequestCommitDetail> commitDetails) {
+        List<PullRequestContent.Commit> commits = new ArrayList<>();
+        for (GHPullRequestCommitDetail commit : toList(commitDetails)) {
+            if (commit.getCommit() != null) {
+                commits.add(new PullRequestContent.Commit(commit.getSha(), commit.getCommit().getMessage()));
+            }
+        }
+        return commits;
+    }
+
+    private static <T> List<T> toList(PagedIterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        if (iterable != null) {
+            for (T item : iterable) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+}
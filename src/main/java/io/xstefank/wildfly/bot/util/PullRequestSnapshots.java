@@ -0,0 +1,70 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.quarkiverse.githubapp.GitHubClientProvider;
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.GHEventPayload;
+import org.kohsuke.github.GHPullRequest;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshots of the pull requests handled by the incoming event. Every processor handling the same event
+ * shares this bean, so the paginated {@code listFiles}, {@code listComments} and {@code listCommits} calls are
+ * done only by the first one actually needing them. Every processor receives its own parsed payload, thus the
+ * snapshots are keyed by the id of the pull request, which is read from the payload. The bean is request scoped and
+ * a request handles a single delivery, so the delivery does not need to be part of the key. Unlike the number, the id
+ * is unique across repositories.
+ * <p>
+ * If {@code wildfly-bot.graphql-loader.enabled} is set, the snapshot of the pull request from the payload is
+ * preloaded with a single {@link GraphQLPullRequestLoader} query. If the query fails, the snapshot is loaded
+ * lazily through the REST API as usual.
+ */
+@RequestScoped
+public class PullRequestSnapshots {
+
+    private static final Logger LOG = Logger.getLogger(PullRequestSnapshots.class);
+
+    private final Map<Long, PullRequestSnapshot> snapshots = new HashMap<>();
+    private final Set<Long> preloaded = new HashSet<>();
+
+    @Inject
+    ChangedFilesCache changedFilesCache;
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    @Inject
+    GitHubClientProvider gitHubClientProvider;
+
+    public PullRequestSnapshot get(GHPullRequest pullRequest) {
+        return snapshots.computeIfAbsent(pullRequest.getId(), id -> new PullRequestSnapshot(pullRequest, changedFilesCache));
+    }
+
+    /**
+     * @return snapshot of the pull request from the payload, preloaded through GraphQL if enabled
+     */
+    public PullRequestSnapshot get(GHEventPayload.PullRequest pullRequestPayload) {
+        GHPullRequest pullRequest = pullRequestPayload.getPullRequest();
+        PullRequestSnapshot snapshot = get(pullRequest);
+        if (snapshot.getInstallationId() == null && pullRequestPayload.getInstallation() != null) {
+            snapshot.setInstallationId(pullRequestPayload.getInstallation().getId());
+        }
+        if (wildFlyBotConfig.graphqlLoaderEnabled() && preloaded.add(pullRequest.getId())) {
+            String repository = pullRequestPayload.getRepository().getFullName();
+            try (GitHubGraphQLExecutor executor = new GitHubGraphQLExecutor(gitHubClientProvider
+                    .getInstallationGraphQLClient(pullRequestPayload.getInstallation().getId()))) {
+                snapshot.preload(new GraphQLPullRequestLoader(executor).load(repository, pullRequestPayload.getNumber()));
+            } catch (Exception e) {
+                LOG.warnf(e, "Unable to load the pull request %s#%d through GraphQL, falling back to REST",
+                        repository, pullRequestPayload.getNumber());
+            }
+        }
+        return snapshot;
+    }
+}
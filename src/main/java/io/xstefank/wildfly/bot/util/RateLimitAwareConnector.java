@@ -0,0 +1,37 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+
+/**
+ * Sends every request of the client of an installation through the {@link GitHubRateLimitBudget}, with the priority
+ * of the calling thread.
+ */
+public class RateLimitAwareConnector implements GitHubConnector {
+
+    private final GitHubConnector delegate;
+    private final GitHubRateLimitBudget budget;
+    private final long installationId;
+
+    public RateLimitAwareConnector(GitHubConnector delegate, GitHubRateLimitBudget budget, long installationId) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.installationId = installationId;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        ApiPriority priority = ApiPriority.current();
+        budget.beforeRequest(installationId, priority);
+        GitHubConnectorResponse response = null;
+        try {
+            response = delegate.send(request);
+            return response;
+        } finally {
+            budget.afterRequest(installationId, priority, response);
+        }
+    }
+}
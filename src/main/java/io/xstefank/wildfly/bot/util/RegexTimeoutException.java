@@ -0,0 +1,22 @@
+package io.xstefank.wildfly.bot.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Thrown when a regular expression does not finish matching within its time budget, see {@link Patterns}.
+ */
+public class RegexTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Pattern pattern;
+
+    public RegexTimeoutException(Pattern pattern, String limit) {
+        super("Matching of regular expression \"" + pattern.pattern() + "\" was aborted after " + limit);
+        this.pattern = pattern;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,153 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHRepository;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the names of the labels of recently used repositories, so that checking whether a label exists does not page
+ * through {@code listLabels} of the repository for every event.
+ * <p>
+ * The labels of a repository are listed once, when they are first needed. Afterwards they are kept up to date by the
+ * {@code label} webhook events and by the labels created by the bot itself. A repository is listed again after
+ * {@code wildfly-bot.label-cache.ttl}, in case a webhook event was missed, or as soon as a write of its labels or of
+ * the labels of any of its pull requests is dropped, since the remembered labels might be wrong.
+ * <p>
+ * The number of remembered repositories is configured by {@code wildfly-bot.label-cache.size}, {@code 0} disables
+ * the cache.
+ */
+@ApplicationScoped
+public class RepositoryLabelCache {
+
+    private static final String TARGET_PREFIX = "repository-label:";
+
+    private final Map<String, Labels> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Labels> eldest) {
+            return size() > wildFlyBotConfig.labelCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.labelCacheSize() > 0;
+    }
+
+    /**
+     * @return unmodifiable view of the names of the labels in the repository
+     */
+    public Set<String> labels(GHRepository repository) throws IOException {
+        if (!isEnabled()) {
+            return Collections.unmodifiableSet(list(repository));
+        }
+
+        String key = repository.getFullName();
+        Labels labels;
+        synchronized (cache) {
+            labels = cache.get(key);
+            if (labels != null && labels.expiresAt <= System.currentTimeMillis()) {
+                cache.remove(key);
+                labels = null;
+            }
+        }
+        if (labels == null) {
+            Labels listed = new Labels(list(repository),
+                    System.currentTimeMillis() + wildFlyBotConfig.labelCacheTtl().toMillis());
+            synchronized (cache) {
+                // an event processed in the meantime may have filled the cache already
+                labels = cache.computeIfAbsent(key, k -> listed);
+            }
+        }
+        return Collections.unmodifiableSet(labels.names);
+    }
+
+    /**
+     * @return target of the creation of the label in the {@link WriteBehindQueue}
+     */
+    public static String target(GHRepository repository, String name) {
+        return TARGET_PREFIX + repository.getFullName() + ":" + name;
+    }
+
+    public void invalidate(String repository) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(repository);
+        }
+    }
+
+    void onDropped(@Observes WriteBehindQueue.Dropped dropped) {
+        String target = dropped.getTarget();
+        if (target.startsWith(TARGET_PREFIX)) {
+            // the name of the repository does not contain a ':'
+            invalidate(target.substring(TARGET_PREFIX.length(), target.indexOf(':', TARGET_PREFIX.length())));
+        } else if (PullRequestLabelWriter.KIND.equals(dropped.getKind())) {
+            String pullRequest = dropped.getPullRequest();
+            invalidate(pullRequest.substring(0, pullRequest.lastIndexOf('#')));
+        }
+    }
+
+    public void created(GHRepository repository, String name) {
+        Set<String> labels = cached(repository);
+        if (labels != null) {
+            labels.add(name);
+        }
+    }
+
+    public void deleted(GHRepository repository, String name) {
+        Set<String> labels = cached(repository);
+        if (labels != null) {
+            labels.remove(name);
+        }
+    }
+
+    public void renamed(GHRepository repository, String from, String to) {
+        Set<String> labels = cached(repository);
+        if (labels != null) {
+            labels.remove(from);
+            labels.add(to);
+        }
+    }
+
+    private Set<String> cached(GHRepository repository) {
+        if (!isEnabled()) {
+            return null;
+        }
+        synchronized (cache) {
+            Labels labels = cache.get(repository.getFullName());
+            return labels == null ? null : labels.names;
+        }
+    }
+
+    private static Set<String> list(GHRepository repository) throws IOException {
+        Set<String> labels = ConcurrentHashMap.newKeySet();
+        for (GHLabel label : repository.listLabels().toList()) {
+            labels.add(label.getName());
+        }
+        return labels;
+    }
+
+    private static final class Labels {
+
+        private final Set<String> names;
+        private final long expiresAt;
+
+        private Labels(Set<String> names, long expiresAt) {
+            this.names = names;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
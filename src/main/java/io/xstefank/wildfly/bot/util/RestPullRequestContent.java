@@ -0,0 +1,41 @@
+package io.xstefank.wildfly.bot.util;
+
+import org.kohsuke.github.GHPullRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads the content from the pull request delivered with the webhook, the commits are listed through the REST API
+ * unless they are already in the snapshot.
+ */
+class RestPullRequestContent implements PullRequestContent {
+
+    private final GHPullRequest pullRequest;
+    private final PullRequestSnapshot snapshot;
+
+    RestPullRequestContent(GHPullRequest pullRequest, PullRequestSnapshot snapshot) {
+        this.pullRequest = pullRequest;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public String getTitle() {
+        return pullRequest.getTitle();
+    }
+
+    @Override
+    public String getBody() {
+        return pullRequest.getBody();
+    }
+
+    @Override
+    public String getAuthor() throws IOException {
+        return pullRequest.getUser().getLogin();
+    }
+
+    @Override
+    public List<Commit> getCommits() throws IOException {
+        return snapshot != null ? snapshot.getCommits() : PullRequestSnapshot.toCommits(pullRequest.listCommits());
+    }
+}
@@ -0,0 +1,143 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which inputs of the rules were evaluated for the most recently processed pull requests. Many events,
+ * e.g. an {@code Edited} event caused by a milestone change, do not modify any input of the rules. Such an event
+ * is recognized by the same configuration version, title, body, base branch and head commit, and the rules, the
+ * listing of the changed files and the resulting GitHub calls are skipped.
+ * <p>
+ * The inputs are remembered before the resulting writes, and forgotten once any write to the pull request is
+ * dropped, so that the next event evaluates the rules again.
+ * <p>
+ * The number of remembered pull requests is configured by {@code wildfly-bot.rule-cache.size},
+ * {@code 0} disables the cache.
+ */
+@ApplicationScoped
+public class RuleEvaluationCache {
+
+    private static final Logger LOG = Logger.getLogger(RuleEvaluationCache.class);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Evaluated inputs, the values are unused.
+     */
+    private final Map<String, Boolean> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > wildFlyBotConfig.ruleCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.ruleCacheSize() > 0;
+    }
+
+    /**
+     * Creates the key identifying all inputs of the rules for the given pull request.
+     */
+    public static String key(String repository, int number, String configVersion, String title, String body,
+            String baseRef, String headSha) {
+        return WriteBehindQueue.pullRequest(repository, number) + "@" + configVersion + ":" + sha256(title) + ":"
+                + sha256(body) + ":" + baseRef + ":" + headSha;
+    }
+
+    /**
+     * @return whether the rules were evaluated for the same inputs
+     */
+    public boolean isEvaluated(String key) {
+        if (!isEnabled()) {
+            return false;
+        }
+        boolean evaluated;
+        synchronized (cache) {
+            evaluated = cache.containsKey(key);
+        }
+        if (evaluated) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        LOG.debugf("Rule cache %s [hits: %d, misses: %d]", evaluated ? "hit" : "miss", hits.get(), misses.get());
+        return evaluated;
+    }
+
+    public void evaluated(String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, Boolean.TRUE);
+        }
+    }
+
+    public void invalidate(String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
+
+    void onDropped(@Observes WriteBehindQueue.Dropped dropped) {
+        String pullRequest = dropped.getPullRequest();
+        if (pullRequest == null || !isEnabled()) {
+            return;
+        }
+        String prefix = pullRequest + "@";
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long hits = this.hits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static String sha256(String value) {
+        if (value == null) {
+            return "";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.xstefank.wildfly.bot.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.Locale;
+
+/**
+ * Reports the effectiveness of the {@link RuleEvaluationCache}, the check itself is always up.
+ */
+@Readiness
+@ApplicationScoped
+public class RuleEvaluationCacheHealthCheck implements HealthCheck {
+
+    @Inject
+    RuleEvaluationCache ruleEvaluationCache;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("Rule evaluation cache")
+                .up()
+                .withData("enabled", ruleEvaluationCache.isEnabled())
+                .withData("size", ruleEvaluationCache.size())
+                .withData("hits", ruleEvaluationCache.getHits())
+                .withData("misses", ruleEvaluationCache.getMisses())
+                .withData("hitRatio", String.format(Locale.ROOT, "%.3f", ruleEvaluationCache.getHitRatio()))
+                .build();
+    }
+}
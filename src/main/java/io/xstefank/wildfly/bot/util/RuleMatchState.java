@@ -0,0 +1,139 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers which rules matched recently processed pull requests, as bit sets over the indexes of
+ * {@link CompiledRules#getRules()}. Comparing a new evaluation with the remembered one tells exactly which
+ * rules flipped, so only the labels, mentions and reviewers of those rules need to be touched on GitHub.
+ * <p>
+ * Labels or review requests removed manually are not restored until one of their rules flips again.
+ * The number of remembered pull requests is configured by {@code wildfly-bot.rule-state-cache.size},
+ * {@code 0} disables the cache.
+ * <p>
+ * The matches are remembered before their labels, mentions and reviewers are written, and forgotten once any write to
+ * the pull request is dropped, so that the next evaluation writes everything again.
+ */
+@ApplicationScoped
+public class RuleMatchState {
+
+    private final Map<String, Matches> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Matches> eldest) {
+            return size() > wildFlyBotConfig.ruleStateCacheSize();
+        }
+    };
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.ruleStateCacheSize() > 0;
+    }
+
+    /**
+     * @param pullRequest key of the pull request, see {@link WriteBehindQueue#pullRequest(String, int)}
+     * @return the rules which matched the previous evaluation with the same configuration, or null
+     */
+    public Matches get(String pullRequest, String configVersion) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Matches matches;
+        synchronized (cache) {
+            matches = cache.get(pullRequest);
+        }
+        return matches != null && matches.configVersion.equals(configVersion) ? matches : null;
+    }
+
+    public void put(String pullRequest, Matches matches) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(pullRequest, matches);
+        }
+    }
+
+    public void invalidate(String pullRequest) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(pullRequest);
+        }
+    }
+
+    void onDropped(@Observes WriteBehindQueue.Dropped dropped) {
+        String pullRequest = dropped.getPullRequest();
+        if (pullRequest != null) {
+            invalidate(pullRequest);
+        }
+    }
+
+    /**
+     * Rules whose notified users are requested as reviewers and rules whose notified users are mentioned.
+     */
+    public static final class Matches {
+
+        private final String configVersion;
+        private final BitSet reviewRules;
+        private final BitSet mentionRules;
+
+        public Matches(String configVersion, BitSet reviewRules, BitSet mentionRules) {
+            this.configVersion = configVersion;
+            this.reviewRules = (BitSet) reviewRules.clone();
+            this.mentionRules = (BitSet) mentionRules.clone();
+        }
+
+        /**
+         * @return rules matching now but not in the previous evaluation, regardless of how they matched
+         */
+        public BitSet addedRules(Matches previous) {
+            BitSet added = all();
+            if (previous != null) {
+                added.andNot(previous.all());
+            }
+            return added;
+        }
+
+        /**
+         * @return rules which flipped from or to requesting reviews
+         */
+        public BitSet flippedReviewRules(Matches previous) {
+            BitSet flipped = (BitSet) reviewRules.clone();
+            flipped.xor(previous.reviewRules);
+            return flipped;
+        }
+
+        /**
+         * @return rules which flipped from or to mentioning
+         */
+        public BitSet flippedMentionRules(Matches previous) {
+            BitSet flipped = (BitSet) mentionRules.clone();
+            flipped.xor(previous.mentionRules);
+            return flipped;
+        }
+
+        public BitSet getReviewRules() {
+            return (BitSet) reviewRules.clone();
+        }
+
+        public BitSet getMentionRules() {
+            return (BitSet) mentionRules.clone();
+        }
+
+        private BitSet all() {
+            BitSet all = (BitSet) reviewRules.clone();
+            all.or(mentionRules);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.xstefank.wildfly.bot.config.WildFlyBotConfig;
+import io.xstefank.wildfly.bot.model.RuntimeConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.kohsuke.github.HttpException;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pipeline of the writes to GitHub, e.g. commit statuses, comments and labels. The processors submit the intended
+ * writes and carry on, the writes are then passed to the sink on worker threads:
+ * <ul>
+ * <li>pending writes to the same target are collapsed, only the last one is written, e.g. two updates of the format
+ * comment of a pull request result in a single update, unless the last one is a {@link MergingWrite} which takes
+ * over the writes it supersedes,</li>
+ * <li>writes to the same target are never written concurrently and keep their order,</li>
+ * <li>writes failing with a server or network error are retried with a jittered exponential backoff, other failures
+ * are logged,</li>
+ * <li>writes rejected by the {@link GitHubCircuitBreaker}, the {@link GitHubBulkheads} or the
+ * {@link GitHubRateLimitBudget} are deferred until they may be sent, without counting as an attempt.</li>
+ * </ul>
+ * The sink writes to GitHub, or only logs the writes in the dry run mode. A write which is given up is announced by
+ * a {@link Dropped} event, so that whatever was remembered about it can be forgotten.
+ * <p>
+ * The pipeline is configured by {@code wildfly-bot.write-behind.*}. If it is disabled, the writes are passed to the
+ * sink right away on the submitting thread and their failures are thrown to the caller.
+ */
+@ApplicationScoped
+public class WriteBehindQueue {
+
+    private static final Logger LOG = Logger.getLogger(WriteBehindQueue.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static final String PULL_REQUEST_TARGET_PREFIX = "pull-request:";
+
+    private final AtomicLong anonymousTargets = new AtomicLong();
+
+    /**
+     * Writes which are waiting for the sink, by target.
+     */
+    private final Map<String, Intent> pending = new LinkedHashMap<>();
+
+    /**
+     * Targets whose write is being passed to the sink.
+     */
+    private final Set<String> running = new HashSet<>();
+
+    @Inject
+    WildFlyBotConfig wildFlyBotConfig;
+
+    @Inject
+    Event<Dropped> droppedEvent;
+
+    private Sink sink;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        sink = wildFlyBotConfig.isDryRun() ? new DryRunSink() : new GitHubSink();
+        if (isEnabled()) {
+            executor = Executors.newScheduledThreadPool(wildFlyBotConfig.writeBehindThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "wildfly-bot-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                synchronized (this) {
+                    LOG.warnf("Dropping %d pending writes to GitHub on shutdown: %s", pending.size(), pending.keySet());
+                    pending.values().forEach(this::dropped);
+                }
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return wildFlyBotConfig.writeBehindEnabled();
+    }
+
+    /**
+     * Submits a write which is not collapsed with any other write.
+     *
+     * @see #submit(Supplier, String, Write)
+     */
+    public void submit(String description, Write write) throws IOException {
+        submit(() -> "#" + anonymousTargets.incrementAndGet(), description, write);
+    }
+
+    /**
+     * Submits a write to the given target. A pending write to the same target is superseded by this one.
+     *
+     * @param target identifies what is written, e.g. a label of a pull request; only computed if the pipeline is
+     *        enabled
+     * @param description describes the write in the log, e.g. in the dry run mode
+     * @param write the write itself, including the bookkeeping of its result
+     * @throws IOException if the pipeline is disabled and the write fails
+     */
+    public void submit(Supplier<String> target, String description, Write write) throws IOException {
+        if (!isEnabled()) {
+            try {
+                sink.write(description, write);
+            } catch (IOException | RuntimeException e) {
+                droppedEvent.fire(new Dropped(target.get(), description));
+                throw e;
+            }
+            return;
+        }
+
+        String key = target.get();
+        Intent intent = new Intent(key, description, write, ApiPriority.current());
+        synchronized (this) {
+            Intent superseded = pending.get(key);
+            if (superseded != null) {
+                LOG.debugf("Write \"%s\" is superseded by \"%s\"", superseded.description, description);
+                intent = intent.after(superseded);
+            }
+            pending.put(key, intent);
+        }
+        executor.execute(() -> dispatch(key));
+    }
+
+    /**
+     * @param kind what is written to the pull request, e.g. its labels
+     * @return target of a write to the pull request
+     */
+    public static String pullRequestTarget(String repository, int number, String kind) {
+        return PULL_REQUEST_TARGET_PREFIX + pullRequest(repository, number) + ":" + kind;
+    }
+
+    /**
+     * @return key identifying the pull request, as returned by {@link Dropped#getPullRequest()}
+     */
+    public static String pullRequest(String repository, int number) {
+        return repository + "#" + number;
+    }
+
+    private void dispatch(String key) {
+        Intent intent;
+        synchronized (this) {
+            if (running.contains(key)) {
+                // dispatched again once the running write is done
+                return;
+            }
+            intent = pending.get(key);
+            if (intent == null || intent.notBefore > System.currentTimeMillis()) {
+                // a retry is dispatched once its backoff elapses
+                return;
+            }
+            pending.remove(key);
+            running.add(key);
+        }
+
+        ApiPriority previousPriority = ApiPriority.set(intent.priority);
+        try {
+            sink.write(intent.description, intent.write);
+        } catch (IOException | RuntimeException e) {
+            retryOrDrop(intent, e);
+        } finally {
+            ApiPriority.set(previousPriority);
+            synchronized (this) {
+                running.remove(key);
+                if (pending.containsKey(key) && !executor.isShutdown()) {
+                    executor.execute(() -> dispatch(key));
+                }
+            }
+        }
+    }
+
+    private void retryOrDrop(Intent intent, Exception e) {
+        // a write which was not sent does not use up an attempt
+        boolean deferred = GitHubUnavailableException.isCause(e);
+        if (!deferred && !isRetryable(e)) {
+            LOG.errorf(e, "Unable to write \"%s\" to GitHub", intent.description);
+            dropped(intent);
+            return;
+        }
+        if ((!deferred && intent.attempt + 1 >= wildFlyBotConfig.writeBehindMaxAttempts()) || executor.isShutdown()) {
+            LOG.errorf(e, "Unable to write \"%s\" to GitHub after %d attempts", intent.description, intent.attempt + 1);
+            dropped(intent);
+            return;
+        }
+
+        long delay = backoff(intent.attempt);
+        if (deferred) {
+            delay = Math.max(delay, GitHubUnavailableException.retryAfterMillis(e));
+        }
+        synchronized (this) {
+            Intent newer = pending.get(intent.key);
+            if (newer != null) {
+                LOG.debugf(e, "Write \"%s\" failed and is superseded, not retrying", intent.description);
+                pending.put(intent.key, newer.after(intent));
+                return;
+            }
+            pending.put(intent.key, intent.nextAttempt(deferred ? intent.attempt : intent.attempt + 1,
+                    System.currentTimeMillis() + delay));
+        }
+        if (deferred) {
+            LOG.infof("Deferring \"%s\" by %d ms: %s", intent.description, delay, e.getMessage());
+        } else {
+            LOG.warnf("Unable to write \"%s\" to GitHub, retrying in %d ms: %s", intent.description, delay,
+                    e.getMessage());
+        }
+        executor.schedule(() -> dispatch(intent.key), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void dropped(Intent intent) {
+        try {
+            droppedEvent.fire(new Dropped(intent.key, intent.description));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Unable to announce that the write \"%s\" was dropped", intent.description);
+        }
+    }
+
+    /**
+     * @return random delay between half of the configured backoff and its exponentially growing cap for the given
+     *         attempt
+     */
+    private long backoff(int attempt) {
+        long base = wildFlyBotConfig.writeBehindBackoff().toMillis();
+        long cap = base << Math.min(attempt, 16);
+        return ThreadLocalRandom.current().nextLong(base / 2, Math.max(cap, base / 2 + 1));
+    }
+
+    /**
+     * Server errors, rate limiting and network errors are transient, the other client errors are not.
+     */
+    static boolean isRetryable(Exception e) {
+        if (e instanceof HttpException httpException) {
+            int code = httpException.getResponseCode();
+            return code <= 0 || code >= 500 || code == 429;
+        }
+        return e instanceof IOException;
+    }
+
+    @FunctionalInterface
+    public interface Write {
+
+        void write() throws IOException;
+    }
+
+    /**
+     * Write which is not lost when it is superseded, e.g. a change of the labels of a pull request.
+     */
+    public interface MergingWrite extends Write {
+
+        /**
+         * @return write doing what the given superseded write to the same target does, followed by this one
+         */
+        MergingWrite after(Write superseded);
+    }
+
+    /**
+     * Fired once a write is given up, i.e. it failed and is not retried, or it is still pending on shutdown. It is
+     * fired on the thread which gave the write up, which is the submitting thread if the pipeline is disabled.
+     */
+    public static final class Dropped {
+
+        private final String target;
+        private final String description;
+
+        public Dropped(String target, String description) {
+            this.target = target;
+            this.description = description;
+        }
+
+        /**
+         * @return target of the dropped write, as it was submitted
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return key of the pull request the dropped write was written to, or null if it was not written to a pull
+         *         request
+         * @see #pullRequest(String, int)
+         */
+        public String getPullRequest() {
+            if (!target.startsWith(PULL_REQUEST_TARGET_PREFIX)) {
+                return null;
+            }
+            // neither the name of the repository nor the number contain a ':'
+            return target.substring(PULL_REQUEST_TARGET_PREFIX.length(),
+                    target.indexOf(':', PULL_REQUEST_TARGET_PREFIX.length()));
+        }
+
+        /**
+         * @return what the dropped write wrote to the pull request, or null if it was not written to a pull request
+         * @see #pullRequestTarget(String, int, String)
+         */
+        public String getKind() {
+            if (!target.startsWith(PULL_REQUEST_TARGET_PREFIX)) {
+                return null;
+            }
+            return target.substring(target.indexOf(':', PULL_REQUEST_TARGET_PREFIX.length()) + 1);
+        }
+    }
+
+    private interface Sink {
+
+        void write(String description, Write write) throws IOException;
+    }
+
+    private static final class GitHubSink implements Sink {
+
+        @Override
+        public void write(String description, Write write) throws IOException {
+            write.write();
+        }
+    }
+
+    private static final class DryRunSink implements Sink {
+
+        @Override
+        public void write(String description, Write write) {
+            LOG.info(RuntimeConstants.DRY_RUN_PREPEND.formatted(description));
+        }
+    }
+
+    private static final class Intent {
+
+        private final String key;
+        private final String description;
+        private final Write write;
+        private final ApiPriority priority;
+        private final int attempt;
+
+        /**
+         * Time in millis before which the write is not passed to the sink.
+         */
+        private final long notBefore;
+
+        private Intent(String key, String description, Write write, ApiPriority priority) {
+            this(key, description, write, priority, 0, 0);
+        }
+
+        private Intent(String key, String description, Write write, ApiPriority priority, int attempt,
+                long notBefore) {
+            this.key = key;
+            this.description = description;
+            this.write = write;
+            this.priority = priority;
+            this.attempt = attempt;
+            this.notBefore = notBefore;
+        }
+
+        private Intent nextAttempt(int attempt, long notBefore) {
+            return new Intent(key, description, write, priority, attempt, notBefore);
+        }
+
+        /**
+         * @return this intent, taking over the write of the superseded one if this is a {@link MergingWrite}
+         */
+        private Intent after(Intent superseded) {
+            if (write instanceof MergingWrite merging) {
+                return new Intent(key, description, merging.after(superseded.write), priority, attempt, notBefore);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppMockito;
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.ChangedFilesCache;
+import jakarta.inject.Inject;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCommitPointer;
+import org.kohsuke.github.GHCompare;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestFileDetail;
+import org.kohsuke.github.GHRepository;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the changed files of a pull request merged from the compare of its previous and its new head.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(ChangedFilesCacheTest.ChangedFilesCacheProfile.class)
+public class ChangedFilesCacheTest {
+
+    private static final AtomicInteger NUMBERS = new AtomicInteger(1000);
+
+    @Inject
+    ChangedFilesCache changedFilesCache;
+
+    private GHRepository repository;
+    private GHPullRequest pullRequest;
+    private GHCommitPointer head;
+    private GHCommitPointer base;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(GHRepository.class);
+        Mockito.when(repository.getFullName()).thenReturn("wildfly/wildfly-github-bot");
+        head = Mockito.mock(GHCommitPointer.class);
+        base = Mockito.mock(GHCommitPointer.class);
+        Mockito.when(base.getRef()).thenReturn("main");
+        pullRequest = Mockito.mock(GHPullRequest.class);
+        Mockito.when(pullRequest.getRepository()).thenReturn(repository);
+        // every test uses its own pull request
+        Mockito.when(pullRequest.getNumber()).thenReturn(NUMBERS.incrementAndGet());
+        Mockito.when(pullRequest.getHead()).thenReturn(head);
+        Mockito.when(pullRequest.getBase()).thenReturn(base);
+    }
+
+    @Test
+    void testFastForwardIsMergedFromCompare() throws IOException {
+        listedFiles("a.txt", "b.txt");
+        Mockito.when(head.getSha()).thenReturn("sha1");
+        changedFilesCache.filenames(pullRequest);
+
+        compare("sha1", "sha2", GHCompare.Status.ahead, 1, file("c.txt", "added"), file("a.txt", "removed"));
+        Mockito.when(head.getSha()).thenReturn("sha2");
+        List<String> filenames = changedFilesCache.filenames(pullRequest);
+
+        // a.txt was added by the pull request, removing it again means it is not changed anymore
+        MatcherAssert.assertThat(filenames, Matchers.contains("b.txt", "c.txt"));
+        Mockito.verify(pullRequest, Mockito.times(1)).listFiles();
+    }
+
+    @Test
+    void testForcePushListsAllFiles() throws IOException {
+        listedFiles("a.txt");
+        Mockito.when(head.getSha()).thenReturn("sha1");
+        changedFilesCache.filenames(pullRequest);
+
+        compare("sha1", "sha2", GHCompare.Status.diverged, 1, file("c.txt", "added"));
+        listedFiles("c.txt");
+        Mockito.when(head.getSha()).thenReturn("sha2");
+        List<String> filenames = changedFilesCache.filenames(pullRequest);
+
+        MatcherAssert.assertThat(filenames, Matchers.contains("c.txt"));
+        Mockito.verify(pullRequest, Mockito.times(2)).listFiles();
+    }
+
+    @Test
+    void testMergeCommitListsAllFiles() throws IOException {
+        listedFiles("a.txt");
+        Mockito.when(head.getSha()).thenReturn("sha1");
+        changedFilesCache.filenames(pullRequest);
+
+        compare("sha1", "sha2", GHCompare.Status.ahead, 2, file("main.txt", "added"));
+        listedFiles("a.txt");
+        Mockito.when(head.getSha()).thenReturn("sha2");
+        List<String> filenames = changedFilesCache.filenames(pullRequest);
+
+        MatcherAssert.assertThat(filenames, Matchers.contains("a.txt"));
+        Mockito.verify(pullRequest, Mockito.times(2)).listFiles();
+    }
+
+    @Test
+    void testChangedBaseListsAllFiles() throws IOException {
+        listedFiles("a.txt");
+        Mockito.when(head.getSha()).thenReturn("sha1");
+        changedFilesCache.filenames(pullRequest);
+
+        Mockito.when(base.getRef()).thenReturn("7.x");
+        listedFiles("a.txt", "b.txt");
+        List<String> filenames = changedFilesCache.filenames(pullRequest);
+
+        MatcherAssert.assertThat(filenames, Matchers.contains("a.txt", "b.txt"));
+        Mockito.verify(pullRequest, Mockito.times(2)).listFiles();
+        Mockito.verify(repository, Mockito.never()).getCompare(Mockito.anyString(), Mockito.anyString());
+    }
+
+    private void listedFiles(String... filenames) {
+        GHPullRequestFileDetail[] details = new GHPullRequestFileDetail[filenames.length];
+        for (int i = 0; i < filenames.length; i++) {
+            details[i] = Mockito.mock(GHPullRequestFileDetail.class);
+            Mockito.when(details[i].getFilename()).thenReturn(filenames[i]);
+            Mockito.when(details[i].getStatus()).thenReturn("added");
+        }
+        Mockito.when(pullRequest.listFiles()).thenAnswer(invocation -> GitHubAppMockito.mockPagedIterable(details));
+    }
+
+    /**
+     * @param parents number of parents of the single compared commit
+     */
+    private void compare(String from, String to, GHCompare.Status status, int parents, GHCommit.File... files)
+            throws IOException {
+        GHCompare.Commit commit = Mockito.mock(GHCompare.Commit.class);
+        Mockito.when(commit.getParentSHA1s()).thenReturn(parents == 1 ? List.of(from) : List.of(from, "sha-main"));
+        GHCompare compare = Mockito.mock(GHCompare.class);
+        Mockito.when(compare.getStatus()).thenReturn(status);
+        Mockito.when(compare.getFiles()).thenReturn(files);
+        Mockito.when(compare.getTotalCommits()).thenReturn(1);
+        Mockito.when(compare.getCommits()).thenReturn(new GHCompare.Commit[] { commit });
+        Mockito.when(repository.getCompare(from, to)).thenReturn(compare);
+    }
+
+    private static GHCommit.File file(String filename, String status) {
+        GHCommit.File file = Mockito.mock(GHCommit.File.class);
+        Mockito.when(file.getFileName()).thenReturn(filename);
+        Mockito.when(file.getStatus()).thenReturn(status);
+        return file;
+    }
+
+    public static class ChangedFilesCacheProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.changed-files-cache.size", "10");
+        }
+    }
+}
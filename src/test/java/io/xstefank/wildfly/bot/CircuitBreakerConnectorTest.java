@@ -0,0 +1,80 @@
+package io.xstefank.wildfly.bot;
+
+import io.xstefank.wildfly.bot.util.ApiPriority;
+import io.xstefank.wildfly.bot.util.CircuitBreakerConnector;
+import io.xstefank.wildfly.bot.util.GitHubBulkheads;
+import io.xstefank.wildfly.bot.util.GitHubCircuitBreaker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Tests for the GitHub API calls sent through the bulkheads and the circuit breaker.
+ */
+public class CircuitBreakerConnectorTest {
+
+    private final GitHubConnector delegate = Mockito.mock(GitHubConnector.class);
+    private final GitHubConnectorRequest request = Mockito.mock(GitHubConnectorRequest.class);
+    private final GitHubBulkheads bulkheads = Mockito.mock(GitHubBulkheads.class);
+    private final GitHubCircuitBreaker circuitBreaker = new GitHubCircuitBreaker(4, 0.5, Duration.ofSeconds(30),
+            System::currentTimeMillis);
+    private final CircuitBreakerConnector connector = new CircuitBreakerConnector(delegate, circuitBreaker, bulkheads);
+
+    @Test
+    void testSlotIsReleasedOnceTheResponseIsClosed() throws IOException {
+        GitHubConnectorResponse response = Mockito.mock(GitHubConnectorResponse.class);
+        Mockito.when(response.request()).thenReturn(request);
+        Mockito.when(response.statusCode()).thenReturn(200);
+        Mockito.when(response.allHeaders()).thenReturn(Map.of());
+        Mockito.when(delegate.send(request)).thenReturn(response);
+
+        GitHubConnectorResponse sent = connector.send(request);
+        Mockito.verify(bulkheads).acquire(ApiPriority.INTERACTIVE);
+        Mockito.verify(bulkheads, Mockito.never()).release(Mockito.any());
+
+        sent.close();
+        sent.close();
+        Mockito.verify(response).close();
+        Mockito.verify(bulkheads).release(ApiPriority.INTERACTIVE);
+    }
+
+    @Test
+    void testSlotIsReleasedIfTheRequestFails() throws IOException {
+        Mockito.when(delegate.send(request)).thenThrow(new IOException("Connection reset"));
+
+        Assertions.assertThrows(IOException.class, () -> connector.send(request));
+
+        Mockito.verify(bulkheads).release(ApiPriority.INTERACTIVE);
+    }
+
+    @Test
+    void testTimeoutsOpenTheCircuit() throws IOException {
+        Mockito.when(delegate.send(request)).thenThrow(new HttpTimeoutException("request timed out"));
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(HttpTimeoutException.class, () -> connector.send(request));
+        }
+
+        Assertions.assertEquals(GitHubCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testInterruptionsDoNotOpenTheCircuit() throws IOException {
+        Mockito.when(delegate.send(request)).thenThrow(new InterruptedIOException());
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(InterruptedIOException.class, () -> connector.send(request));
+        }
+
+        Assertions.assertEquals(GitHubCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,55 @@
+package io.xstefank.wildfly.bot;
+
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
+import io.xstefank.wildfly.bot.util.CompiledRules;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the fingerprint of the rules, which tells whether the compiled rules can be reused.
+ */
+public class CompiledRulesVersionTest {
+
+    @Test
+    void testSameRulesHaveSameVersion() {
+        WildFlyRule rule = new WildFlyRule();
+        rule.title = "WFLY";
+        rule.directories = List.of("src/main");
+        WildFlyRule copy = new WildFlyRule();
+        copy.title = "WFLY";
+        copy.directories = List.of("src/main");
+
+        Assertions.assertEquals(CompiledRules.version(List.of(rule)), CompiledRules.version(List.of(copy)));
+    }
+
+    @Test
+    void testListsAreNotAmbiguous() {
+        WildFlyRule joined = new WildFlyRule();
+        joined.directories = List.of("a, b");
+        WildFlyRule split = new WildFlyRule();
+        split.directories = List.of("a", "b");
+
+        Assertions.assertNotEquals(CompiledRules.version(List.of(joined)), CompiledRules.version(List.of(split)));
+    }
+
+    @Test
+    void testMissingValueIsNotTheStringNull() {
+        WildFlyRule missing = new WildFlyRule();
+        WildFlyRule string = new WildFlyRule();
+        string.title = "null";
+
+        Assertions.assertNotEquals(CompiledRules.version(List.of(missing)), CompiledRules.version(List.of(string)));
+    }
+
+    @Test
+    void testFieldsAreNotAmbiguous() {
+        WildFlyRule title = new WildFlyRule();
+        title.title = "WFLY";
+        WildFlyRule body = new WildFlyRule();
+        body.body = "WFLY";
+
+        Assertions.assertNotEquals(CompiledRules.version(List.of(title)), CompiledRules.version(List.of(body)));
+    }
+}
@@ -0,0 +1,173 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.xstefank.wildfly.bot.util.ConditionalRequestConnector;
+import io.xstefank.wildfly.bot.util.GitHubResponseCache;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the conditional requests revalidating the cached GitHub responses.
+ */
+@QuarkusTest
+@GitHubAppTest
+public class ConditionalRequestConnectorTest {
+
+    private static final String LABELS_URL = "https://api.github.com/repos/xstefank/wildfly/labels";
+
+    @Inject
+    GitHubResponseCache gitHubResponseCache;
+
+    private final List<GitHubConnectorRequest> sentRequests = new ArrayList<>();
+
+    @Test
+    void testNotModifiedResponseServedFromCache() throws IOException {
+        long hits = gitHubResponseCache.getHits();
+        GitHubConnector connector = new ConditionalRequestConnector(request -> {
+            sentRequests.add(request);
+            if ("\"v1\"".equals(request.header("If-None-Match"))) {
+                return new TestResponse(request, 304, Map.of("ETag", List.of("\"v1\""),
+                        "X-RateLimit-Remaining", List.of("4999")), "");
+            }
+            return new TestResponse(request, 200, Map.of("ETag", List.of("\"v1\""),
+                    "X-RateLimit-Remaining", List.of("4998")), "[{\"name\":\"bug\"}]");
+        }, gitHubResponseCache);
+
+        try (GitHubConnectorResponse first = connector.send(new TestRequest("GET", LABELS_URL + "?page=1"))) {
+            Assertions.assertEquals(200, first.statusCode());
+            Assertions.assertEquals("[{\"name\":\"bug\"}]", body(first));
+        }
+        try (GitHubConnectorResponse second = connector.send(new TestRequest("GET", LABELS_URL + "?page=1"))) {
+            Assertions.assertEquals(200, second.statusCode());
+            Assertions.assertEquals("[{\"name\":\"bug\"}]", body(second));
+            Assertions.assertEquals("4999", second.header("X-RateLimit-Remaining"));
+        }
+
+        Assertions.assertEquals(2, sentRequests.size());
+        Assertions.assertNull(sentRequests.get(0).header("If-None-Match"));
+        Assertions.assertEquals("\"v1\"", sentRequests.get(1).header("If-None-Match"));
+        Assertions.assertEquals(hits + 1, gitHubResponseCache.getHits());
+    }
+
+    @Test
+    void testModifiedResponseReplacesCache() throws IOException {
+        String[] etag = { "\"v1\"" };
+        GitHubConnector connector = new ConditionalRequestConnector(request -> {
+            sentRequests.add(request);
+            if (etag[0].equals(request.header("If-None-Match"))) {
+                return new TestResponse(request, 304, Map.of("ETag", List.of(etag[0])), "");
+            }
+            return new TestResponse(request, 200, Map.of("ETag", List.of(etag[0])), etag[0]);
+        }, gitHubResponseCache);
+
+        connector.send(new TestRequest("GET", LABELS_URL + "?page=2")).close();
+        etag[0] = "\"v2\"";
+        try (GitHubConnectorResponse response = connector.send(new TestRequest("GET", LABELS_URL + "?page=2"))) {
+            Assertions.assertEquals("\"v2\"", body(response));
+        }
+        try (GitHubConnectorResponse response = connector.send(new TestRequest("GET", LABELS_URL + "?page=2"))) {
+            Assertions.assertEquals("\"v2\"", body(response));
+        }
+
+        Assertions.assertEquals("\"v1\"", sentRequests.get(1).header("If-None-Match"));
+        Assertions.assertEquals("\"v2\"", sentRequests.get(2).header("If-None-Match"));
+    }
+
+    @Test
+    void testOnlyGetRequestsAreConditional() throws IOException {
+        GitHubConnector connector = new ConditionalRequestConnector(request -> {
+            sentRequests.add(request);
+            return new TestResponse(request, 200, Map.of("ETag", List.of("\"v1\"")), "{}");
+        }, gitHubResponseCache);
+
+        connector.send(new TestRequest("POST", LABELS_URL)).close();
+        connector.send(new TestRequest("POST", LABELS_URL)).close();
+
+        Assertions.assertNull(sentRequests.get(1).header("If-None-Match"));
+    }
+
+    private static String body(GitHubConnectorResponse response) throws IOException {
+        return new String(response.bodyStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static final class TestRequest implements GitHubConnectorRequest {
+
+        private final String method;
+        private final URL url;
+
+        private TestRequest(String method, String url) throws IOException {
+            this.method = method;
+            this.url = new URL(url);
+        }
+
+        @Override
+        public String method() {
+            return method;
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return new HashMap<>(Map.of("Accept", List.of("application/vnd.github+json")));
+        }
+
+        @Override
+        public String header(String name) {
+            return "Accept".equalsIgnoreCase(name) ? "application/vnd.github+json" : null;
+        }
+
+        @Override
+        public String contentType() {
+            return null;
+        }
+
+        @Override
+        public InputStream body() {
+            return null;
+        }
+
+        @Override
+        public URL url() {
+            return url;
+        }
+
+        @Override
+        public boolean hasBody() {
+            return false;
+        }
+    }
+
+    private static final class TestResponse extends GitHubConnectorResponse {
+
+        private final byte[] body;
+
+        private TestResponse(GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers,
+                String body) {
+            super(request, statusCode, headers);
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream bodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.xstefank.wildfly.bot;
+
+import io.xstefank.wildfly.bot.model.WildFlyConfigFile.WildFlyRule;
+import io.xstefank.wildfly.bot.util.DirectoryTrie;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Tests for the directories of the rules matched against the changed files.
+ */
+public class DirectoryTrieTest {
+
+    @Test
+    void testNestedDirectories() {
+        DirectoryTrie trie = DirectoryTrie.build(List.of(rule("src"), rule("src/main/java")));
+
+        Assertions.assertEquals(rules(0, 1), trie.match(List.of("src/main/java/Foo.java")));
+        Assertions.assertEquals(rules(0), trie.match(List.of("src/main/resources/foo.properties")));
+        Assertions.assertEquals(rules(0), trie.match(List.of("src/main/java")));
+    }
+
+    @Test
+    void testOverlappingDirectories() {
+        DirectoryTrie trie = DirectoryTrie.build(List.of(rule("src/main", "src/main/"), rule("src/main"),
+                rule("src/mainframe")));
+
+        Assertions.assertEquals(rules(0, 1), trie.match(List.of("src/main/Foo.java")));
+        Assertions.assertEquals(rules(2), trie.match(List.of("src/mainframe/Foo.java")));
+        // a directory only contains the files under it, not the files sharing its name as a prefix
+        Assertions.assertEquals(rules(), trie.match(List.of("src/main.txt", "src/mainframe.txt")));
+        Assertions.assertEquals(rules(0, 1, 2), trie.match(List.of("src/main/Foo.java", "src/mainframe/Foo.java")));
+    }
+
+    @Test
+    void testRootDirectory() {
+        DirectoryTrie trie = DirectoryTrie.build(List.of(rule("/"), rule("docs")));
+
+        // the changed files are relative to the root, like for the previous startsWith("/") check
+        Assertions.assertEquals(rules(), trie.match(List.of("README.md", "pom.xml")));
+        Assertions.assertEquals(rules(1), trie.match(List.of("docs/README.md")));
+    }
+
+    @Test
+    void testNoDirectories() {
+        DirectoryTrie trie = DirectoryTrie.build(List.of(new WildFlyRule()));
+
+        Assertions.assertEquals(rules(), trie.match(List.of("src/main/Foo.java", "README.md")));
+    }
+
+    private static WildFlyRule rule(String... directories) {
+        WildFlyRule rule = new WildFlyRule();
+        rule.directories = List.of(directories);
+        return rule;
+    }
+
+    private static BitSet rules(int... indexes) {
+        BitSet rules = new BitSet();
+        for (int index : indexes) {
+            rules.set(index);
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,97 @@
+package io.xstefank.wildfly.bot;
+
+import io.xstefank.wildfly.bot.util.GitHubCircuitBreaker;
+import io.xstefank.wildfly.bot.util.GitHubUnavailableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for the states of the circuit breaker of the GitHub API calls.
+ */
+public class GitHubCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final GitHubCircuitBreaker circuitBreaker = new GitHubCircuitBreaker(4, 0.5, Duration.ofSeconds(30),
+            now::get);
+
+    @Test
+    void testStaysClosedBelowRequestVolume() throws IOException {
+        call(false);
+        call(false);
+        call(false);
+        Assertions.assertEquals(GitHubCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testStaysClosedBelowFailureRatio() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            call(i % 4 == 0);
+        }
+        Assertions.assertEquals(GitHubCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testOpensAtFailureRatioAndRejectsCalls() throws IOException {
+        open();
+        Assertions.assertEquals(GitHubCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertEquals(30_000, circuitBreaker.remainingOpenMillis());
+        Assertions.assertThrows(GitHubUnavailableException.class, circuitBreaker::acquirePermission);
+        Assertions.assertEquals(1, circuitBreaker.getRejected());
+    }
+
+    @Test
+    void testHalfOpenAllowsSingleTrialWhichCloses() throws IOException {
+        open();
+        now.addAndGet(30_000);
+        Assertions.assertEquals(GitHubCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.acquirePermission();
+        Assertions.assertThrows(GitHubUnavailableException.class, circuitBreaker::acquirePermission);
+        circuitBreaker.onSuccess();
+
+        Assertions.assertEquals(GitHubCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        call(false);
+    }
+
+    @Test
+    void testFailedTrialOpensAgain() throws IOException {
+        open();
+        now.addAndGet(30_000);
+        call(true);
+
+        Assertions.assertEquals(GitHubCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertEquals(2, circuitBreaker.getOpened());
+        Assertions.assertThrows(GitHubUnavailableException.class, circuitBreaker::acquirePermission);
+    }
+
+    @Test
+    void testCancelledTrialAllowsAnotherTrial() throws IOException {
+        open();
+        now.addAndGet(30_000);
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onCancelled();
+
+        call(false);
+        Assertions.assertEquals(GitHubCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private void open() throws IOException {
+        call(false);
+        call(false);
+        call(true);
+        call(true);
+    }
+
+    private void call(boolean failure) throws IOException {
+        circuitBreaker.acquirePermission();
+        if (failure) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.xstefank.wildfly.bot;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.GitHubUnavailableException;
+import io.xstefank.wildfly.bot.util.InstallationClients;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.kohsuke.github.GitHub;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests for the clients of the installations, with the shared installation clients, the HTTP client connector and
+ * the circuit breaker enabled, against a local server standing in for GitHub.
+ */
+@QuarkusTest
+@TestProfile(GitHubClientsTest.GitHubClientsProfile.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class GitHubClientsTest {
+
+    private static final long INSTALLATION_ID = 1;
+    private static final String TOKEN = "ghs_test";
+
+    @Inject
+    InstallationClients installationClients;
+
+    @Test
+    @Order(1)
+    void testClientIsSharedWithSingleToken() throws IOException {
+        GitHub client = installationClients.get(INSTALLATION_ID);
+
+        Assertions.assertSame(client, installationClients.get(INSTALLATION_ID));
+        // the repository is only returned for the token of the installation
+        Assertions.assertEquals("wildfly/wildfly", client.getRepository("wildfly/wildfly").getFullName());
+        Assertions.assertEquals(1, installationClients.getRefreshes());
+    }
+
+    @Test
+    @Order(2)
+    void testSlowResponseTimesOut() throws IOException {
+        GitHub client = installationClients.get(INSTALLATION_ID);
+
+        long start = System.currentTimeMillis();
+        IOException e = Assertions.assertThrows(IOException.class, () -> client.getRepository("wildfly/slow"));
+        Assertions.assertTrue(System.currentTimeMillis() - start < FakeGitHub.SLOW_RESPONSE_MILLIS);
+        Assertions.assertTrue(isTimeout(e), e::toString);
+    }
+
+    @Test
+    @Order(3)
+    void testCircuitOpensOnServerErrors() throws IOException {
+        GitHub client = installationClients.get(INSTALLATION_ID);
+
+        boolean rejected = false;
+        for (int i = 0; i < 10 && !rejected; i++) {
+            IOException e = Assertions.assertThrows(IOException.class, () -> client.getRepository("wildfly/broken"));
+            rejected = GitHubUnavailableException.isCause(e);
+        }
+        Assertions.assertTrue(rejected);
+        // the circuit is open, the call is not sent
+        Assertions.assertTrue(GitHubUnavailableException.isCause(
+                Assertions.assertThrows(IOException.class, () -> client.getRepository("wildfly/wildfly"))));
+    }
+
+    private static boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Answers the calls needed to create an installation token and to read a repository. It is started by the
+     * profile, which is not loaded by the class loader of the test, so the test can not read its fields.
+     */
+    static final class FakeGitHub {
+
+        static final long SLOW_RESPONSE_MILLIS = 3000;
+
+        private static HttpServer server;
+
+        static synchronized String start() {
+            if (server == null) {
+                try {
+                    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "fake-github");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+                server.createContext("/", FakeGitHub::handle);
+                server.start();
+            }
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        private static void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            switch (path) {
+                case "/app" -> respond(exchange, 200, """
+                        {"id": 0, "slug": "wildfly-bot", "name": "wildfly-bot"}""");
+                case "/app/installations" -> respond(exchange, 200, "[]");
+                case "/app/installations/1" -> respond(exchange, 200, """
+                        {"id": 1, "app_id": 0}""");
+                case "/app/installations/1/access_tokens" -> respond(exchange, 201, """
+                        {"token": "%s", "expires_at": "2099-01-01T00:00:00Z"}""".formatted(TOKEN));
+                case "/repos/wildfly/wildfly" -> {
+                    if (("token " + TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                        respond(exchange, 200, repository("wildfly"));
+                    } else {
+                        respond(exchange, 401, """
+                                {"message": "Bad credentials"}""");
+                    }
+                }
+                case "/repos/wildfly/slow" -> {
+                    try {
+                        Thread.sleep(SLOW_RESPONSE_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    respond(exchange, 200, repository("slow"));
+                }
+                case "/repos/wildfly/broken" -> respond(exchange, 500, """
+                        {"message": "Server Error"}""");
+                default -> respond(exchange, 404, """
+                        {"message": "Not Found"}""");
+            }
+        }
+
+        private static String repository(String name) {
+            return """
+                    {"id": 1, "name": "%s", "full_name": "wildfly/%s"}""".formatted(name, name);
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    public static class GitHubClientsProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.github-app.instance-endpoint", FakeGitHub.start(),
+                    "wildfly-bot.installation-clients.enabled", "true",
+                    "wildfly-bot.http-client.enabled", "true",
+                    "wildfly-bot.http-client.request-timeout", "300ms",
+                    "wildfly-bot.circuit-breaker.enabled", "true",
+                    "wildfly-bot.circuit-breaker.request-volume", "4",
+                    "wildfly-bot.circuit-breaker.delay", "1m");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.xstefank.wildfly.bot;
+
+import io.xstefank.wildfly.bot.util.ApiPriority;
+import io.xstefank.wildfly.bot.util.GitHubRateLimitBudget;
+import io.xstefank.wildfly.bot.util.GitHubUnavailableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.xstefank.wildfly.bot.util.GitHubRateLimitBudget.backgroundDelay;
+
+/**
+ * Tests for the pacing and the deferral of the background GitHub API calls.
+ */
+public class GitHubRateLimitBudgetTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void testNoDelayAboveTwiceTheReserve() {
+        Assertions.assertEquals(0, backgroundDelay(5000, 5000, HOUR, 20));
+        Assertions.assertEquals(0, backgroundDelay(5000, 2000, HOUR, 20));
+    }
+
+    @Test
+    void testSpreadBetweenReserveAndTwiceTheReserve() {
+        // 500 calls left above the reserve of 1000 calls, spread over 15 minutes
+        Assertions.assertEquals(1800, backgroundDelay(5000, 1500, HOUR / 4, 20));
+        // at most one minute per call
+        Assertions.assertEquals(60_000, backgroundDelay(5000, 1010, HOUR / 4, 20));
+    }
+
+    @Test
+    void testWaitForResetBelowReserve() {
+        Assertions.assertEquals(30_000, backgroundDelay(5000, 1000, 30_000, 20));
+        Assertions.assertEquals(60_000, backgroundDelay(5000, 0, HOUR, 20));
+    }
+
+    @Test
+    void testNoDelayAfterResetOrWithoutReserve() {
+        Assertions.assertEquals(0, backgroundDelay(5000, 0, -1, 20));
+        Assertions.assertEquals(0, backgroundDelay(5000, 1, HOUR, 0));
+    }
+
+    @Test
+    void testBackgroundCallYieldsToInteractiveCallOfSameInstallation() throws Exception {
+        AtomicLong now = new AtomicLong(HOUR);
+        GitHubRateLimitBudget budget = new GitHubRateLimitBudget(20, now::get);
+
+        budget.beforeRequest(1, ApiPriority.INTERACTIVE);
+        GitHubUnavailableException deferred = Assertions.assertThrows(GitHubUnavailableException.class,
+                () -> budget.beforeRequest(1, ApiPriority.BACKGROUND));
+        Assertions.assertTrue(deferred.getRetryAfterMillis() > 0);
+        Assertions.assertEquals(1, budget.getDeferred());
+        // other installations have their own quota
+        budget.beforeRequest(2, ApiPriority.BACKGROUND);
+
+        budget.afterRequest(1, ApiPriority.INTERACTIVE, null);
+        budget.beforeRequest(1, ApiPriority.BACKGROUND);
+    }
+
+    @Test
+    void testBackgroundCallYieldsForLimitedTime() throws Exception {
+        AtomicLong now = new AtomicLong(HOUR);
+        GitHubRateLimitBudget budget = new GitHubRateLimitBudget(20, now::get);
+
+        budget.beforeRequest(1, ApiPriority.INTERACTIVE);
+        Assertions.assertThrows(GitHubUnavailableException.class, () -> budget.beforeRequest(1, ApiPriority.BACKGROUND));
+        now.addAndGet(10_000);
+        budget.beforeRequest(1, ApiPriority.BACKGROUND);
+    }
+
+    @Test
+    void testBackgroundCallsArePacedByReportedQuota() throws Exception {
+        AtomicLong now = new AtomicLong(HOUR);
+        GitHubRateLimitBudget budget = new GitHubRateLimitBudget(20, now::get);
+
+        budget.beforeRequest(1, ApiPriority.BACKGROUND);
+        budget.afterRequest(1, ApiPriority.BACKGROUND, new RateLimitResponse(5000, 1500, now.get() + HOUR / 4));
+        budget.beforeRequest(1, ApiPriority.BACKGROUND);
+
+        GitHubUnavailableException deferred = Assertions.assertThrows(GitHubUnavailableException.class,
+                () -> budget.beforeRequest(1, ApiPriority.BACKGROUND));
+        Assertions.assertEquals(1800, deferred.getRetryAfterMillis());
+        // interactive calls are never deferred
+        budget.beforeRequest(1, ApiPriority.INTERACTIVE);
+        budget.afterRequest(1, ApiPriority.INTERACTIVE, null);
+
+        now.addAndGet(1800);
+        budget.beforeRequest(1, ApiPriority.BACKGROUND);
+    }
+
+    private static final class RateLimitResponse extends GitHubConnectorResponse {
+
+        private RateLimitResponse(int limit, int remaining, long resetEpochMillis) {
+            super(null, 200, Map.of("X-RateLimit-Resource", List.of("core"),
+                    "X-RateLimit-Limit", List.of(String.valueOf(limit)),
+                    "X-RateLimit-Remaining", List.of(String.valueOf(remaining)),
+                    "X-RateLimit-Reset", List.of(String.valueOf(resetEpochMillis / 1000))));
+        }
+
+        @Override
+        public InputStream bodyStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.xstefank.wildfly.bot;
+
+import io.xstefank.wildfly.bot.util.GraphQLExecutor;
+import io.xstefank.wildfly.bot.util.GraphQLPullRequestLoader;
+import io.xstefank.wildfly.bot.util.PullRequestContent;
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the loader against a local GraphQL stub serving the pages of a pull request.
+ */
+public class GraphQLPullRequestLoaderTest {
+
+    private final List<Map<String, Object>> queries = new ArrayList<>();
+
+    @Test
+    void testLoadInSingleQuery() throws IOException {
+        GraphQLExecutor stub = (query, variables) -> {
+            queries.add(variables);
+            return data(pullRequest()
+                    .add("files", connection(null, node("path", "src/main/java/Foo.java")))
+                    .add("commits", connection(null, Json.createObjectBuilder()
+                            .add("commit", Json.createObjectBuilder()
+                                    .add("oid", "abc")
+                                    .add("message", "WFLY-123 Fix Foo"))))
+                    .add("labels", connection(null, node("name", "bug")))
+                    .add("reviewRequests", connection(null,
+                            Json.createObjectBuilder().add("requestedReviewer", node("login", "reviewer")),
+                            // team
+                            Json.createObjectBuilder().add("requestedReviewer", Json.createObjectBuilder()))));
+        };
+
+        GraphQLPullRequestLoader.GraphQLPullRequest pullRequest = new GraphQLPullRequestLoader(stub)
+                .load("wildfly/wildfly", 1);
+
+        Assertions.assertEquals(1, queries.size());
+        Assertions.assertEquals("wildfly", queries.get(0).get("owner"));
+        Assertions.assertEquals("wildfly", queries.get(0).get("name"));
+        Assertions.assertEquals(1, queries.get(0).get("number"));
+        Assertions.assertEquals("WFLY-123 Fix Foo", pullRequest.getTitle());
+        Assertions.assertEquals("Body", pullRequest.getBody());
+        Assertions.assertEquals("author", pullRequest.getAuthor());
+        Assertions.assertEquals("0123456789", pullRequest.getHeadSha());
+        Assertions.assertFalse(pullRequest.isDraft());
+        Assertions.assertNull(pullRequest.getMergeable());
+        Assertions.assertEquals(List.of("src/main/java/Foo.java"), pullRequest.getFilenames());
+        Assertions.assertEquals(1, pullRequest.getCommits().size());
+        PullRequestContent.Commit commit = pullRequest.getCommits().get(0);
+        Assertions.assertEquals("abc", commit.getSha());
+        Assertions.assertEquals("WFLY-123 Fix Foo", commit.getMessage());
+        Assertions.assertEquals(Set.of("bug"), pullRequest.getLabels());
+        Assertions.assertEquals(Set.of("reviewer"), pullRequest.getRequestedReviewers());
+    }
+
+    @Test
+    void testLoadNextPagesOnly() throws IOException {
+        GraphQLExecutor stub = (query, variables) -> {
+            queries.add(variables);
+            JsonObjectBuilder pullRequest = pullRequest();
+            if (variables.get("filesCursor") == null) {
+                pullRequest.add("files", connection("files-1", node("path", "a.txt"), node("path", "b.txt")));
+            } else {
+                Assertions.assertEquals("files-1", variables.get("filesCursor"));
+                pullRequest.add("files", connection(null, node("path", "c.txt")));
+            }
+            if ((Boolean) variables.get("withCommits")) {
+                pullRequest.add("commits", connection(null));
+            }
+            if ((Boolean) variables.get("withLabels")) {
+                pullRequest.add("labels", connection(null, node("name", "bug")));
+            }
+            if ((Boolean) variables.get("withReviewRequests")) {
+                pullRequest.add("reviewRequests", connection(null));
+            }
+            return data(pullRequest);
+        };
+
+        GraphQLPullRequestLoader.GraphQLPullRequest pullRequest = new GraphQLPullRequestLoader(stub)
+                .load("wildfly/wildfly", 1);
+
+        Assertions.assertEquals(2, queries.size());
+        Assertions.assertEquals(true, queries.get(1).get("withFiles"));
+        Assertions.assertEquals(false, queries.get(1).get("withCommits"));
+        Assertions.assertEquals(false, queries.get(1).get("withLabels"));
+        Assertions.assertEquals(false, queries.get(1).get("withReviewRequests"));
+        Assertions.assertEquals(List.of("a.txt", "b.txt", "c.txt"), pullRequest.getFilenames());
+        Assertions.assertEquals(Set.of("bug"), pullRequest.getLabels());
+        Assertions.assertTrue(pullRequest.getCommits().isEmpty());
+    }
+
+    @Test
+    void testMissingPullRequest() {
+        GraphQLExecutor stub = (query, variables) -> Json.createObjectBuilder()
+                .add("repository", Json.createObjectBuilder().addNull("pullRequest"))
+                .build();
+
+        Assertions.assertThrows(IOException.class,
+                () -> new GraphQLPullRequestLoader(stub).load("wildfly/wildfly", 1));
+    }
+
+    private static JsonObjectBuilder pullRequest() {
+        return Json.createObjectBuilder()
+                .add("title", "WFLY-123 Fix Foo")
+                .add("body", "Body")
+                .add("isDraft", false)
+                .add("mergeable", "UNKNOWN")
+                .add("headRefOid", "0123456789")
+                .add("author", node("login", "author"));
+    }
+
+    private static JsonObject data(JsonObjectBuilder pullRequest) {
+        return Json.createObjectBuilder()
+                .add("repository", Json.createObjectBuilder().add("pullRequest", pullRequest))
+                .build();
+    }
+
+    private static JsonObjectBuilder node(String name, String value) {
+        return Json.createObjectBuilder().add(name, value);
+    }
+
+    private static JsonObjectBuilder connection(String endCursor, JsonObjectBuilder... nodes) {
+        JsonObjectBuilder pageInfo = Json.createObjectBuilder().add("hasNextPage", endCursor != null);
+        if (endCursor != null) {
+            pageInfo.add("endCursor", endCursor);
+        } else {
+            pageInfo.addNull("endCursor");
+        }
+        JsonArrayBuilder array = Json.createArrayBuilder();
+        for (JsonObjectBuilder node : nodes) {
+            array.add(node);
+        }
+        return Json.createObjectBuilder()
+                .add("pageInfo", pageInfo)
+                .add("nodes", array);
+    }
+}
@@ -0,0 +1,113 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.BotCommentIndex;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEvent;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.TestConstants.TEST_REPO;
+
+/**
+ * Tests for the comments of the bot deleted or edited by someone else.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(PRBotCommentIndexTest.BotCommentIndexProfile.class)
+public class PRBotCommentIndexTest {
+
+    private static final String BOT = "wildfly-bot[bot]";
+    private static final int NUMBER = 23;
+    private static final String KEY = BotCommentIndex.key(TEST_REPO, NUMBER, "/cc");
+
+    @Inject
+    BotCommentIndex botCommentIndex;
+
+    @BeforeEach
+    void setUp() {
+        botCommentIndex.put(KEY, new BotCommentIndex.Entry(2, "/cc @user1"));
+    }
+
+    @Test
+    void testDeletedCommentOfBotIsForgotten() throws IOException {
+        given().when().payloadFromString(issueComment("deleted", BOT, "user1"))
+                .event(GHEvent.ISSUE_COMMENT);
+
+        Assertions.assertNull(botCommentIndex.get(KEY));
+    }
+
+    @Test
+    void testCommentOfBotEditedBySomeoneElseIsForgotten() throws IOException {
+        given().when().payloadFromString(issueComment("edited", BOT, "user1"))
+                .event(GHEvent.ISSUE_COMMENT);
+
+        Assertions.assertNull(botCommentIndex.get(KEY));
+    }
+
+    @Test
+    void testCommentEditedByBotIsKept() throws IOException {
+        given().when().payloadFromString(issueComment("edited", BOT, BOT))
+                .event(GHEvent.ISSUE_COMMENT);
+
+        Assertions.assertNotNull(botCommentIndex.get(KEY));
+    }
+
+    @Test
+    void testDeletedCommentOfSomeoneElseIsIgnored() throws IOException {
+        given().when().payloadFromString(issueComment("deleted", "user1", "user1"))
+                .event(GHEvent.ISSUE_COMMENT);
+
+        Assertions.assertNotNull(botCommentIndex.get(KEY));
+    }
+
+    private static String issueComment(String action, String author, String sender) {
+        return """
+                {
+                  "action": "%s",
+                  "issue": {
+                    "id": 1,
+                    "number": %d,
+                    "pull_request": {
+                      "url": "https://api.github.com/repos/%s/pulls/%d"
+                    }
+                  },
+                  "comment": {
+                    "id": 2,
+                    "node_id": "IC_node",
+                    "body": "/cc @user1",
+                    "user": {
+                      "login": "%s"
+                    }
+                  },
+                  "repository": {
+                    "id": 655654457,
+                    "name": "wildfly-github-bot",
+                    "full_name": "%s"
+                  },
+                  "sender": {
+                    "login": "%s"
+                  },
+                  "installation": {
+                    "id": 22950279
+                  }
+                }
+                """.formatted(action, NUMBER, TEST_REPO, NUMBER, author, TEST_REPO, sender);
+    }
+
+    public static class BotCommentIndexProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.comment-index.size", "10");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.CommitStatusCache;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
+import io.xstefank.wildfly.bot.utils.PullRequestJson;
+import io.xstefank.wildfly.bot.utils.Util;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHCommitState;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.HttpException;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.TestConstants.TEST_REPO;
+import static io.xstefank.wildfly.bot.utils.TestConstants.VALID_PR_TEMPLATE_JSON;
+
+/**
+ * Tests for the commit statuses which are already set on the commit.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(PRCommitStatusCacheTest.CommitStatusCacheProfile.class)
+public class PRCommitStatusCacheTest {
+
+    private static final String WILDFLY_CONFIG_FILE = """
+            wildfly:
+              format:
+                title:
+                  enabled: true
+            """;
+
+    private PullRequestJson pullRequestJson;
+    private GHRepository repository;
+
+    @Inject
+    CommitStatusCache commitStatusCache;
+
+    @Inject
+    Event<WriteBehindQueue.Dropped> droppedEvent;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pullRequestJson = PullRequestJson.builder(VALID_PR_TEMPLATE_JSON).build();
+        repository = Mockito.mock(GHRepository.class);
+        Mockito.when(repository.getFullName()).thenReturn(TEST_REPO);
+        // forget what the previous test has written
+        droppedEvent.fire(new WriteBehindQueue.Dropped(
+                CommitStatusCache.target(repository, pullRequestJson.commitSHA(), "Format"), "Reset"));
+    }
+
+    @Test
+    void testIdenticalStatusIsSkipped() throws IOException {
+        commitStatusCache.written(repository, pullRequestJson.commitSHA(), "Format", GHCommitState.SUCCESS, "Valid");
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.repository(TEST_REPO), Mockito.never())
+                        .createCommitStatus(ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+                                ArgumentMatchers.anyString(), ArgumentMatchers.anyString(), ArgumentMatchers.eq("Format")));
+    }
+
+    @Test
+    void testChangedStatusIsWrittenAndRemembered() throws IOException {
+        commitStatusCache.written(repository, pullRequestJson.commitSHA(), "Format", GHCommitState.ERROR,
+                "Failed checks: title");
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Util.verifyFormatSuccess(mocks.repository(TEST_REPO), pullRequestJson));
+
+        Assertions.assertTrue(commitStatusCache.isWritten(repository, pullRequestJson.commitSHA(), "Format",
+                GHCommitState.SUCCESS, "Valid"));
+    }
+
+    @Test
+    void testStatusOfFailedWriteIsForgotten() throws IOException {
+        commitStatusCache.written(repository, pullRequestJson.commitSHA(), "Format", GHCommitState.ERROR,
+                "Failed checks: title");
+
+        Assertions.assertThrows(Throwable.class, () -> given()
+                .github(mocks -> {
+                    Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson);
+                    Mockito.doThrow(new HttpException(422, "Unprocessable", "", null))
+                            .when(mocks.repository(TEST_REPO))
+                            .createCommitStatus(pullRequestJson.commitSHA(), GHCommitState.SUCCESS, "", "Valid",
+                                    "Format");
+                })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST));
+
+        Assertions.assertFalse(commitStatusCache.isWritten(repository, pullRequestJson.commitSHA(), "Format",
+                GHCommitState.SUCCESS, "Valid"));
+    }
+
+    public static class CommitStatusCacheProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.commit-status-cache.size", "10");
+        }
+    }
+}
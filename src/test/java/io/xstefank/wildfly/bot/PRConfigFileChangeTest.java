@@ -158,4 +158,45 @@ public class PRConfigFileChangeTest {
                             "Configuration File");
                 });
     }
+
+    @Test
+    void testUpdateWithProblematicRegexes() throws IOException {
+        given().github(mocks -> {
+            GHRepository repo = mocks.repository(TEST_REPO);
+            GHContent mockGHContent = mock(GHContent.class);
+            when(repo.getFileContent(".github/" + RuntimeConstants.CONFIG_FILE_NAME, pullRequestJson.commitSHA()))
+                    .thenReturn(mockGHContent);
+            when(mockGHContent.read()).thenReturn(IOUtils.toInputStream("""
+                    wildfly:
+                      rules:
+                        - id: "backtracking"
+                          title: "(.*a){12}"
+                        - id: "invalid"
+                          body: "(unclosed"
+                        - id: "valid"
+                          titleBody: "WFLY-\\\\d+"
+                      emails:
+                        - foo@bar.baz
+                        - address@email.com""",
+                    "UTF-8"));
+
+            MockedContext.builder(pullRequestJson.id())
+                    .prFiles(".github/wildfly-bot.yml")
+                    .mock(mocks);
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    verify(mocks.pullRequest(pullRequestJson.id())).comment(FAILED_CONFIGFILE_COMMENT.formatted(
+                            String.join("\n\n",
+                                    List.of(
+                                            "- [ERROR] - Rule [id=backtracking, title=(.*a){12}] has a regular expression which takes too long to evaluate: (.*a){12}",
+                                            "- [ERROR] - Rule [id=invalid, body=(unclosed] has an invalid regular expression: (unclosed. Unclosed group"))));
+                    GHRepository repo = mocks.repository(TEST_REPO);
+                    Mockito.verify(repo).createCommitStatus(pullRequestJson.commitSHA(),
+                            GHCommitState.ERROR, "",
+                            "One or multiple rules are invalid, please see the comment stating the problems",
+                            "Configuration File");
+                });
+    }
 }
@@ -13,6 +13,7 @@ import org.kohsuke.github.GHCommitState;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHEvent;
 import org.kohsuke.github.GHRepository;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 import java.io.IOException;
@@ -185,4 +186,65 @@ public class PRDirectoriesVerificationTest {
                             GHCommitState.SUCCESS, "", "Valid", "Configuration File");
                 });
     }
+
+    @Test
+    public void existingGlobPrefixTest() throws IOException {
+        mockedContext = MockedContext.builder(pullRequestJson.id())
+                .prFiles(".github/wildfly-bot.yml")
+                .repoDirectories("src", "src/main");
+        given().github(mocks -> {
+            mockedContext.mock(mocks);
+            GHRepository repo = mocks.repository(TestConstants.TEST_REPO);
+            GHContent mockGHContent = mock(GHContent.class);
+            when(repo.getFileContent(".github/" + RuntimeConstants.CONFIG_FILE_NAME, pullRequestJson.commitSHA()))
+                    .thenReturn(mockGHContent);
+            when(mockGHContent.read()).thenReturn(IOUtils.toInputStream("""
+                    wildfly:
+                      rules:
+                        - id: "id"
+                          directories: [src/main/*/resources, "**/pom.xml"]""",
+                    "UTF-8"));
+
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    GHRepository repo = mocks.repository(TestConstants.TEST_REPO);
+                    Mockito.verify(repo).getDirectoryContent("src/main");
+                    Mockito.verify(repo, Mockito.never()).getDirectoryContent("src/main/*/resources");
+                    Mockito.verify(repo).createCommitStatus(pullRequestJson.commitSHA(),
+                            GHCommitState.SUCCESS, "", "Valid", "Configuration File");
+                });
+    }
+
+    @Test
+    public void invalidGlobTest() throws IOException {
+        mockedContext = MockedContext.builder(pullRequestJson.id())
+                .prFiles(".github/wildfly-bot.yml")
+                .repoDirectories("src");
+        given().github(mocks -> {
+            mockedContext.mock(mocks);
+            GHRepository repo = mocks.repository(TestConstants.TEST_REPO);
+            GHContent mockGHContent = mock(GHContent.class);
+            when(repo.getFileContent(".github/" + RuntimeConstants.CONFIG_FILE_NAME, pullRequestJson.commitSHA()))
+                    .thenReturn(mockGHContent);
+            when(mockGHContent.read()).thenReturn(IOUtils.toInputStream("""
+                    wildfly:
+                      rules:
+                        - id: "id"
+                          directories: ["src/[main"]""",
+                    "UTF-8"));
+
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    GHRepository repo = mocks.repository(TestConstants.TEST_REPO);
+                    Mockito.verify(repo, Mockito.never()).getDirectoryContent(ArgumentMatchers.anyString());
+                    Mockito.verify(repo).createCommitStatus(pullRequestJson.commitSHA(),
+                            GHCommitState.ERROR, "",
+                            "One or multiple rules are invalid, please see the comment stating the problems",
+                            "Configuration File");
+                });
+    }
 }
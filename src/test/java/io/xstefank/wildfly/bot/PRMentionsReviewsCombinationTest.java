@@ -57,10 +57,8 @@ public class PRMentionsReviewsCombinationTest {
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
                             .comment(ArgumentMatchers.anyString());
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
-                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.times(2))
-                            .requestReviewers(captor.capture());
-                    List<GHUser> requestedReviewers = captor.getAllValues().stream().flatMap(List::stream).toList();
-                    Set<String> requestedReviewersLogins = requestedReviewers.stream().map(GHUser::getLogin)
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
+                    Set<String> requestedReviewersLogins = captor.getValue().stream().map(GHUser::getLogin)
                             .collect(Collectors.toSet());
                     Assertions.assertEquals(requestedReviewersLogins, Set.of("user1", "user2"));
                 });
@@ -124,10 +122,8 @@ public class PRMentionsReviewsCombinationTest {
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
                             .comment(ArgumentMatchers.anyString());
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
-                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.times(2))
-                            .requestReviewers(captor.capture());
-                    List<GHUser> requestedReviewers = captor.getAllValues().stream().flatMap(List::stream).toList();
-                    Set<String> requestedReviewersLogins = requestedReviewers.stream().map(GHUser::getLogin)
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
+                    Set<String> requestedReviewersLogins = captor.getValue().stream().map(GHUser::getLogin)
                             .collect(Collectors.toSet());
                     Assertions.assertEquals(requestedReviewersLogins, Set.of("user1", "user2"));
                 });
@@ -165,10 +161,8 @@ public class PRMentionsReviewsCombinationTest {
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
                             .comment(ArgumentMatchers.anyString());
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
-                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.times(2))
-                            .requestReviewers(captor.capture());
-                    List<GHUser> requestedReviewers = captor.getAllValues().stream().flatMap(List::stream).toList();
-                    Set<String> requestedReviewersLogins = requestedReviewers.stream().map(GHUser::getLogin)
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
+                    Set<String> requestedReviewersLogins = captor.getValue().stream().map(GHUser::getLogin)
                             .collect(Collectors.toSet());
                     Assertions.assertEquals(requestedReviewersLogins, Set.of("user1", "user2"));
                 });
@@ -204,10 +198,8 @@ public class PRMentionsReviewsCombinationTest {
                 .then().github(mocks -> {
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id())).comment("/cc @user3");
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
-                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.times(2))
-                            .requestReviewers(captor.capture());
-                    List<GHUser> requestedReviewers = captor.getAllValues().stream().flatMap(List::stream).toList();
-                    Set<String> requestedReviewersLogins = requestedReviewers.stream().map(GHUser::getLogin)
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
+                    Set<String> requestedReviewersLogins = captor.getValue().stream().map(GHUser::getLogin)
                             .collect(Collectors.toSet());
                     Assertions.assertEquals(requestedReviewersLogins, Set.of("user1", "user2"));
                 });
@@ -0,0 +1,122 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.RepositoryLabelCache;
+import io.xstefank.wildfly.bot.utils.MockedContext;
+import io.xstefank.wildfly.bot.utils.PullRequestJson;
+import io.xstefank.wildfly.bot.utils.TestConstants;
+import io.xstefank.wildfly.bot.utils.Util;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.HttpException;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.Action.SYNCHRONIZE;
+
+/**
+ * Tests for the labels of the repository remembered between the events.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(PRRepositoryLabelCacheTest.RepositoryLabelCacheProfile.class)
+public class PRRepositoryLabelCacheTest {
+
+    private static final String WILDFLY_CONFIG_FILE = """
+            wildfly:
+              rules:
+                - id: "Label rule"
+                  title: WFLY
+                  labels: [label1]
+            """;
+
+    private PullRequestJson pullRequestJson;
+
+    @Inject
+    RepositoryLabelCache repositoryLabelCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pullRequestJson = PullRequestJson.builder(TestConstants.VALID_PR_TEMPLATE_JSON)
+                .action(SYNCHRONIZE)
+                .build();
+        // forget the labels listed by the previous test
+        repositoryLabelCache.invalidate(TestConstants.TEST_REPO);
+    }
+
+    @Test
+    void testLabelsAreListedOnce() throws IOException {
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels("label1")))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.repository(TestConstants.TEST_REPO)).listLabels());
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels("label1")))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.repository(TestConstants.TEST_REPO), Mockito.never())
+                        .listLabels());
+    }
+
+    @Test
+    void testCreatedLabelIsRemembered() throws IOException {
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.repository(TestConstants.TEST_REPO))
+                        .createLabel(ArgumentMatchers.eq("label1"), ArgumentMatchers.anyString()));
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    Mockito.verify(mocks.repository(TestConstants.TEST_REPO), Mockito.never()).listLabels();
+                    Mockito.verify(mocks.repository(TestConstants.TEST_REPO), Mockito.never())
+                            .createLabel(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+                });
+    }
+
+    @Test
+    void testDroppedLabelWriteListsLabelsAgain() throws IOException {
+        // the label was deleted, but the label event was missed
+        given().github(mocks -> {
+            Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels("label1"));
+            Mockito.doThrow(new HttpException(422, "Unprocessable Entity", "", null))
+                    .when(mocks.pullRequest(pullRequestJson.id())).addLabels("label1");
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST);
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    Mockito.verify(mocks.repository(TestConstants.TEST_REPO)).listLabels();
+                    Mockito.verify(mocks.repository(TestConstants.TEST_REPO))
+                            .createLabel(ArgumentMatchers.eq("label1"), ArgumentMatchers.anyString());
+                });
+    }
+
+    private MockedContext repoLabels(String... labels) {
+        return MockedContext.builder(pullRequestJson.id())
+                .repoLabels(Set.of(labels));
+    }
+
+    public static class RepositoryLabelCacheProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.label-cache.size", "10");
+        }
+    }
+}
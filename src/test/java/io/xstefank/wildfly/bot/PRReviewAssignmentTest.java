@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.kohsuke.github.GHEvent;
 import org.kohsuke.github.GHPerson;
 import org.kohsuke.github.GHUser;
+import org.kohsuke.github.HttpException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
@@ -112,15 +113,48 @@ public class PRReviewAssignmentTest {
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
                             .comment(ArgumentMatchers.anyString());
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
-                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.times(2))
-                            .requestReviewers(captor.capture());
-                    List<GHUser> requestedReviewers = captor.getAllValues().stream().flatMap(List::stream).toList();
-                    Set<String> requestedReviewersLogins = requestedReviewers.stream().map(GHUser::getLogin)
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
+                    Set<String> requestedReviewersLogins = captor.getValue().stream().map(GHUser::getLogin)
                             .collect(Collectors.toSet());
                     Assertions.assertEquals(requestedReviewersLogins, Set.of("user1", "user2"));
                 });
     }
 
+    @Test
+    public void testRejectedReviewerFoundByBisection() throws IOException {
+        mockedContext = MockedContext.builder(pullRequestJson.id())
+                .prFiles("src/main/java/resource/application.properties")
+                .users("user1", "user2");
+        given().github(mocks -> {
+            Util.mockRepo(mocks, wildflyConfigFile, pullRequestJson, mockedContext);
+            Mockito.doAnswer(invocation -> {
+                List<GHUser> users = invocation.getArgument(0);
+                if (users.stream().anyMatch(user -> user.getLogin().equals("user2"))) {
+                    throw new HttpException("Reviews may only be requested from collaborators.", 422,
+                            "Unprocessable Entity", "https://api.github.com/repos/xyz");
+                }
+                return null;
+            }).when(mocks.pullRequest(pullRequestJson.id())).requestReviewers(ArgumentMatchers.anyList());
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
+                    // both reviewers at once, then each half separately
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.times(3))
+                            .requestReviewers(captor.capture());
+                    Assertions.assertEquals(2, captor.getAllValues().get(0).size());
+                    Assertions.assertTrue(inMemoryLogHandler.getRecords().stream().anyMatch(
+                            logRecord -> logRecord.getMessage().contains(
+                                    "Bot can not request PR review from the following people: [user2]")));
+
+                    List<Mail> sent = mailbox.getMailsSentTo("foo@bar.baz");
+                    Assertions.assertEquals(sent.size(), 1);
+                    Assertions.assertEquals(sent.get(0).getText(), GithubProcessor.COLLABORATOR_MISSING_BODY.formatted(
+                            TEST_REPO, pullRequestJson.number(), List.of("user2")));
+                });
+    }
+
     @Test
     public void testCommentAndReviewAssignmentCombination() throws IOException {
         mockedContext = MockedContext.builder(pullRequestJson.id())
@@ -66,9 +66,9 @@ public class PRRuleDirectoryHitTest {
                 .event(GHEvent.PULL_REQUEST)
                 .then().github(mocks -> {
                     GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
-                    Mockito.verify(mockedPR, Mockito.times(2)).listFiles();
+                    Mockito.verify(mockedPR).listFiles();
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(ArgumentMatchers.anyList());
-                    Mockito.verify(mockedPR, Mockito.times(2)).listComments();
+                    Mockito.verify(mockedPR).listComments();
                 });
     }
 
@@ -93,14 +93,14 @@ public class PRRuleDirectoryHitTest {
                 .event(GHEvent.PULL_REQUEST)
                 .then().github(mocks -> {
                     GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
-                    Mockito.verify(mockedPR, Mockito.times(2)).listFiles();
+                    Mockito.verify(mockedPR).listFiles();
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
                     Assertions.assertEquals(captor.getValue().size(), 1);
                     MatcherAssert.assertThat(captor.getValue().stream()
                             .map(GHPerson::getLogin)
                             .toList(), Matchers.containsInAnyOrder("7125767235"));
-                    Mockito.verify(mockedPR, Mockito.times(2)).listComments();
+                    Mockito.verify(mockedPR).listComments();
                 });
     }
 
@@ -125,14 +125,14 @@ public class PRRuleDirectoryHitTest {
                 .event(GHEvent.PULL_REQUEST)
                 .then().github(mocks -> {
                     GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
-                    Mockito.verify(mockedPR, Mockito.times(2)).listFiles();
+                    Mockito.verify(mockedPR).listFiles();
                     ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
                     Assertions.assertEquals(captor.getValue().size(), 1);
                     MatcherAssert.assertThat(captor.getValue().stream()
                             .map(GHPerson::getLogin)
                             .toList(), Matchers.containsInAnyOrder("7125767235"));
-                    Mockito.verify(mockedPR, Mockito.times(2)).listComments();
+                    Mockito.verify(mockedPR).listComments();
                 });
     }
 
@@ -156,10 +156,65 @@ public class PRRuleDirectoryHitTest {
                 .event(GHEvent.PULL_REQUEST)
                 .then().github(mocks -> {
                     GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
-                    Mockito.verify(mockedPR, Mockito.times(2)).listFiles();
+                    Mockito.verify(mockedPR).listFiles();
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
+                            .requestReviewers(ArgumentMatchers.any());
+                    Mockito.verify(mockedPR).listComments();
+                });
+    }
+
+    @Test
+    void testDirectoriesGlobNotify() throws IOException {
+        wildflyConfigFile = """
+                wildfly:
+                  rules:
+                    - id: "Directory Test"
+                      directories:
+                       - microprofile/*-smallrye
+                       - "**/transactions"
+                      notify: [7125767235]
+                """;
+        mockedContext = MockedContext.builder(pullRequestJson.id())
+                .users("7125767235")
+                .prFiles("appclient/test.txt",
+                        "microprofile/health-smallrye/pom.xml",
+                        "testsuite/integration/basic/pom.xml");
+
+        given().github(mocks -> Util.mockRepo(mocks, wildflyConfigFile, pullRequestJson, mockedContext))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
+                    Mockito.verify(mockedPR).listFiles();
+                    ArgumentCaptor<List<GHUser>> captor = ArgumentCaptor.forClass(List.class);
+                    Mockito.verify(mocks.pullRequest(pullRequestJson.id())).requestReviewers(captor.capture());
+                    MatcherAssert.assertThat(captor.getValue().stream()
+                            .map(GHPerson::getLogin)
+                            .toList(), Matchers.containsInAnyOrder("7125767235"));
+                });
+    }
+
+    @Test
+    void testDirectoriesGlobNoHitInDiff() throws IOException {
+        wildflyConfigFile = """
+                wildfly:
+                  rules:
+                    - id: "Directory Test"
+                      directories:
+                       - testsuite/*/basic/*.java
+                      notify: [7125767235]
+                """;
+        mockedContext = MockedContext.builder(pullRequestJson.id())
+                .prFiles("appclient/test.txt",
+                        "microprofile/health-smallrye/pom.xml",
+                        "testsuite/integration/basic/pom.xml");
+
+        given().github(mocks -> Util.mockRepo(mocks, wildflyConfigFile, pullRequestJson, mockedContext))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
                     Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
                             .requestReviewers(ArgumentMatchers.any());
-                    Mockito.verify(mockedPR, Mockito.times(2)).listComments();
                 });
     }
 }
@@ -0,0 +1,126 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.RuleEvaluationCache;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
+import io.xstefank.wildfly.bot.utils.MockedContext;
+import io.xstefank.wildfly.bot.utils.PullRequestJson;
+import io.xstefank.wildfly.bot.utils.TestConstants;
+import io.xstefank.wildfly.bot.utils.Util;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.HttpException;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.Action.EDITED;
+
+/**
+ * Tests for the events which do not change any input of the rules.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(PRRuleEvaluationCacheTest.RuleEvaluationCacheProfile.class)
+public class PRRuleEvaluationCacheTest {
+
+    private static final String WILDFLY_CONFIG_FILE = """
+            wildfly:
+              rules:
+                - id: "WFLY rule"
+                  title: WFLY
+                  labels: [label1]
+            """;
+
+    private PullRequestJson pullRequestJson;
+
+    @Inject
+    RuleEvaluationCache ruleEvaluationCache;
+
+    @Inject
+    Event<WriteBehindQueue.Dropped> droppedEvent;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pullRequestJson = PullRequestJson.builder(TestConstants.VALID_PR_TEMPLATE_JSON)
+                .action(EDITED)
+                .build();
+        // forget the evaluations of the previous test
+        droppedEvent.fire(new WriteBehindQueue.Dropped(WriteBehindQueue.pullRequestTarget(TestConstants.TEST_REPO,
+                (int) pullRequestJson.number(), "labels"), "Reset"));
+    }
+
+    @Test
+    void testRepeatedEditedPayloadIsNotEvaluatedAgain() throws IOException {
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id())).addLabels("label1"));
+
+        long hits = ruleEvaluationCache.getHits();
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
+                        .addLabels(ArgumentMatchers.<String[]> any()));
+        Assertions.assertEquals(hits + 1, ruleEvaluationCache.getHits());
+    }
+
+    @Test
+    void testChangedTitleIsEvaluatedAgain() throws IOException {
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id())).addLabels("label1"));
+
+        PullRequestJson editedJson = PullRequestJson.builder(TestConstants.VALID_PR_TEMPLATE_JSON)
+                .action(EDITED)
+                .title("[WFLY-123] Edited commit title")
+                .build();
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, editedJson, repoLabels()))
+                .when().payloadFromString(editedJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(editedJson.id())).addLabels("label1"));
+    }
+
+    @Test
+    void testDroppedWriteForgetsEvaluation() throws IOException {
+        // the labels are written once the event is processed, their failure is logged
+        given().github(mocks -> {
+            Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels());
+            Mockito.doThrow(new HttpException(404, "Not Found", "", null))
+                    .when(mocks.pullRequest(pullRequestJson.id())).addLabels("label1");
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST);
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id())).addLabels("label1"));
+    }
+
+    private MockedContext repoLabels() {
+        return MockedContext.builder(pullRequestJson.id())
+                .repoLabels(Set.of("label1"));
+    }
+
+    public static class RuleEvaluationCacheProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.rule-cache.size", "10");
+        }
+    }
+}
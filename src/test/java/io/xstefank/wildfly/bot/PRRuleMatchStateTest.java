@@ -0,0 +1,129 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.RuleMatchState;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
+import io.xstefank.wildfly.bot.utils.MockedContext;
+import io.xstefank.wildfly.bot.utils.PullRequestJson;
+import io.xstefank.wildfly.bot.utils.TestConstants;
+import io.xstefank.wildfly.bot.utils.Util;
+import jakarta.inject.Inject;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.HttpException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.Action.SYNCHRONIZE;
+
+/**
+ * Tests for the rules which flipped since the previous evaluation of the same pull request.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(PRRuleMatchStateTest.RuleMatchStateProfile.class)
+public class PRRuleMatchStateTest {
+
+    private static final String WILDFLY_CONFIG_FILE = """
+            wildfly:
+              rules:
+                - id: "WFLY rule"
+                  title: WFLY
+                  labels: [label1]
+                - id: "Upgrade rule"
+                  title: Upgrade
+                  labels: [label2]
+            """;
+
+    private PullRequestJson pullRequestJson;
+
+    @Inject
+    RuleMatchState ruleMatchState;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pullRequestJson = PullRequestJson.builder(TestConstants.VALID_PR_TEMPLATE_JSON)
+                .action(SYNCHRONIZE)
+                .build();
+        // forget the matches of the previous test
+        ruleMatchState.invalidate(WriteBehindQueue.pullRequest(TestConstants.TEST_REPO, (int) pullRequestJson.number()));
+    }
+
+    @Test
+    void testUnchangedRulesAreNotWrittenAgain() throws IOException {
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id())).addLabels("label1"));
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id()), Mockito.never())
+                        .addLabels(ArgumentMatchers.<String[]> any()));
+    }
+
+    @Test
+    void testOnlyFlippedRuleIsWritten() throws IOException {
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id())).addLabels("label1"));
+
+        PullRequestJson upgradeJson = PullRequestJson.builder(TestConstants.VALID_PR_TEMPLATE_JSON)
+                .action(SYNCHRONIZE)
+                .title("[WFLY-123] Upgrade the commit title")
+                .build();
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, upgradeJson, repoLabels()))
+                .when().payloadFromString(upgradeJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    ArgumentCaptor<String[]> captor = ArgumentCaptor.forClass(String[].class);
+                    Mockito.verify(mocks.pullRequest(upgradeJson.id())).addLabels(captor.capture());
+                    MatcherAssert.assertThat(Arrays.asList(captor.getValue()), Matchers.contains("label2"));
+                });
+    }
+
+    @Test
+    void testDroppedWriteForgetsMatches() throws IOException {
+        // the labels are written once the event is processed, their failure is logged
+        given().github(mocks -> {
+            Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels());
+            Mockito.doThrow(new HttpException(404, "Not Found", "", null))
+                    .when(mocks.pullRequest(pullRequestJson.id())).addLabels("label1");
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST);
+
+        given().github(mocks -> Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson, repoLabels()))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> Mockito.verify(mocks.pullRequest(pullRequestJson.id())).addLabels("label1"));
+    }
+
+    private MockedContext repoLabels() {
+        return MockedContext.builder(pullRequestJson.id())
+                .repoLabels(Set.of("label1", "label2"));
+    }
+
+    public static class RuleMatchStateProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.rule-state-cache.size", "10");
+        }
+    }
+}
@@ -245,4 +245,32 @@ public class PRRuleTitleBodyCheckTest {
                     Util.verifyFormatSuccess(repo, pullRequestJson);
                 });
     }
+
+    @Test
+    void testKeywordAndRegexRulesEvaluatedTogether() throws IOException {
+        pullRequestJson = PullRequestJson.builder(VALID_PR_TEMPLATE_JSON).build();
+        wildflyConfigFile = """
+                wildfly:
+                  rules:
+                    - id: "Keyword"
+                      titleBody: "browse"
+                      notify: [7125767235]
+                    - id: "Missing keyword"
+                      body: "hibernate"
+                      notify: [3251142365]
+                    - id: "Regex"
+                      titleBody: "WFLY-\\\\d+"
+                      notify: [7125767235]
+                """;
+        given().github(mocks -> Util.mockRepo(mocks, wildflyConfigFile, pullRequestJson))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
+                    Mockito.verify(mockedPR).comment("/cc @7125767235");
+                    Mockito.verify(mockedPR, Mockito.never()).comment(ArgumentMatchers.contains("3251142365"));
+                    GHRepository repo = mocks.repository(TEST_REPO);
+                    Util.verifyFormatSuccess(repo, pullRequestJson);
+                });
+    }
 }
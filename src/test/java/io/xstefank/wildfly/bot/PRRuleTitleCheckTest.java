@@ -93,4 +93,26 @@ public class PRRuleTitleCheckTest {
                 });
     }
 
+    @Test
+    void testInvalidTitleRegexDoesNotBreakOtherRules() throws IOException {
+        wildflyConfigFile = """
+                wildfly:
+                  rules:
+                    - id: "Invalid"
+                      title: "(unclosed"
+                      notify: [invalid-rule-user]
+                    - id: "Title"
+                      title: "Title"
+                      notify: [7125767235]
+                """;
+        given().github(mocks -> Util.mockRepo(mocks, wildflyConfigFile, pullRequestJson))
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST)
+                .then().github(mocks -> {
+                    GHPullRequest mockedPR = mocks.pullRequest(pullRequestJson.id());
+                    Mockito.verify(mockedPR).comment("/cc @7125767235");
+                    GHRepository repo = mocks.repository(TEST_REPO);
+                    Util.verifyFormatSuccess(repo, pullRequestJson);
+                });
+    }
 }
@@ -72,7 +72,7 @@ public class PRSkipPullRequestTest {
                 .then().github(mocks -> {
                     verify(mocks.pullRequest(pullRequestJson.id()), times(2)).getBody();
                     verify(mocks.pullRequest(pullRequestJson.id())).listFiles();
-                    verify(mocks.pullRequest(pullRequestJson.id()), times(2)).isDraft();
+                    verify(mocks.pullRequest(pullRequestJson.id())).isDraft();
                     verifyNoMoreInteractions(mocks.pullRequest(pullRequestJson.id()));
                 });
     }
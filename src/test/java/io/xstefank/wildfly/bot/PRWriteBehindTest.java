@@ -0,0 +1,145 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
+import io.xstefank.wildfly.bot.utils.PullRequestJson;
+import io.xstefank.wildfly.bot.utils.Util;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHCommitState;
+import org.kohsuke.github.GHEvent;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.TestConstants.INVALID_TITLE;
+import static io.xstefank.wildfly.bot.utils.TestConstants.TEST_REPO;
+import static io.xstefank.wildfly.bot.utils.TestConstants.VALID_PR_TEMPLATE_JSON;
+
+/**
+ * Tests for the pull request events with the writes to GitHub passed to the {@link WriteBehindQueue}.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(PRWriteBehindTest.WriteBehindProfile.class)
+public class PRWriteBehindTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static final String WILDFLY_CONFIG_FILE = """
+            wildfly:
+              format:
+                title:
+                  enabled: true
+            """;
+
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<GHCommitState> written = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testEventIsHandledBeforeItsWritesAreDone() throws Throwable {
+        PullRequestJson pullRequestJson = PullRequestJson.builder(VALID_PR_TEMPLATE_JSON).title(INVALID_TITLE).build();
+
+        sendBlockingFormatStatus(pullRequestJson);
+        Assertions.assertTrue(written.isEmpty());
+
+        release.countDown();
+        awaitWritten(1);
+        Assertions.assertEquals(List.of(GHCommitState.ERROR), written);
+    }
+
+    @Test
+    void testWritesToSameTargetKeepTheirOrder() throws Throwable {
+        PullRequestJson invalidPullRequestJson = PullRequestJson.builder(VALID_PR_TEMPLATE_JSON).title(INVALID_TITLE)
+                .build();
+        sendBlockingFormatStatus(invalidPullRequestJson);
+
+        // built only now, the payloads share the parsed template
+        PullRequestJson validPullRequestJson = PullRequestJson.builder(VALID_PR_TEMPLATE_JSON).build();
+        given().github(mocks -> {
+            Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, validPullRequestJson);
+            Mockito.doAnswer(invocation -> {
+                written.add(invocation.getArgument(1));
+                return null;
+            }).when(mocks.repository(TEST_REPO))
+                    .createCommitStatus(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.anyString(),
+                            ArgumentMatchers.anyString(), ArgumentMatchers.eq("Format"));
+        })
+                .when().payloadFromString(validPullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST);
+        // the status of the second event waits for the write of the first one
+        Assertions.assertTrue(written.isEmpty());
+
+        release.countDown();
+        awaitWritten(2);
+        Assertions.assertEquals(List.of(GHCommitState.ERROR, GHCommitState.SUCCESS), written);
+    }
+
+    @Test
+    void testPendingWritesAreFlushedOnShutdown() throws Throwable {
+        PullRequestJson pullRequestJson = PullRequestJson.builder(VALID_PR_TEMPLATE_JSON).title(INVALID_TITLE).build();
+
+        sendBlockingFormatStatus(pullRequestJson);
+        // destroying the bean runs its @PreDestroy, a new one is created for the next test
+        InjectableContext applicationContext = Arc.container().getActiveContext(ApplicationScoped.class);
+        Thread shutdown = new Thread(() -> applicationContext.destroy(
+                Arc.container().instance(WriteBehindQueue.class).getBean()));
+        shutdown.start();
+        shutdown.join(200);
+        Assertions.assertTrue(shutdown.isAlive());
+
+        release.countDown();
+        shutdown.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assertions.assertFalse(shutdown.isAlive());
+        Assertions.assertEquals(List.of(GHCommitState.ERROR), written);
+    }
+
+    /**
+     * Sends the event, whose write of the {@code Format} commit status is blocked until {@link #release} is counted
+     * down.
+     */
+    private void sendBlockingFormatStatus(PullRequestJson pullRequestJson) throws Throwable {
+        given().github(mocks -> {
+            Util.mockRepo(mocks, WILDFLY_CONFIG_FILE, pullRequestJson);
+            Mockito.doAnswer(invocation -> {
+                running.countDown();
+                Assertions.assertTrue(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                written.add(invocation.getArgument(1));
+                return null;
+            }).when(mocks.repository(TEST_REPO))
+                    .createCommitStatus(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.anyString(),
+                            ArgumentMatchers.anyString(), ArgumentMatchers.eq("Format"));
+        })
+                .when().payloadFromString(pullRequestJson.jsonString())
+                .event(GHEvent.PULL_REQUEST);
+        Assertions.assertTrue(running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (written.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    public static class WriteBehindProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.write-behind.enabled", "true");
+        }
+    }
+}
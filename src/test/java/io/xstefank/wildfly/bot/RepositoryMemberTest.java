@@ -0,0 +1,86 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkiverse.githubapp.testing.GitHubAppTest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.CollaboratorCache;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHRepository;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static io.quarkiverse.githubapp.testing.GitHubAppTesting.given;
+import static io.xstefank.wildfly.bot.utils.TestConstants.TEST_REPO;
+
+/**
+ * Tests for the collaborators changed by the {@code member} events.
+ */
+@QuarkusTest
+@GitHubAppTest
+@TestProfile(RepositoryMemberTest.CollaboratorCacheProfile.class)
+public class RepositoryMemberTest {
+
+    @Inject
+    CollaboratorCache collaboratorCache;
+
+    private GHRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(GHRepository.class);
+        Mockito.when(repository.getFullName()).thenReturn(TEST_REPO);
+        collaboratorCache.nonCollaborator(repository, "user1");
+    }
+
+    @Test
+    void testAddedMemberIsForgotten() throws IOException {
+        given().when().payloadFromString(member("added", TEST_REPO, "User1"))
+                .event(GHEvent.MEMBER);
+
+        Assertions.assertNull(collaboratorCache.get(repository, "user1"));
+    }
+
+    @Test
+    void testMemberOfOtherRepositoryIsKept() throws IOException {
+        given().when().payloadFromString(member("added", "wildfly/wildfly", "user1"))
+                .event(GHEvent.MEMBER);
+
+        Assertions.assertNotNull(collaboratorCache.get(repository, "user1"));
+    }
+
+    private static String member(String action, String repository, String login) {
+        return """
+                {
+                  "action": "%s",
+                  "member": {
+                    "login": "%s"
+                  },
+                  "repository": {
+                    "id": 655654457,
+                    "full_name": "%s"
+                  },
+                  "sender": {
+                    "login": "wildfly"
+                  },
+                  "installation": {
+                    "id": 22950279
+                  }
+                }
+                """.formatted(action, login, repository);
+    }
+
+    public static class CollaboratorCacheProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.collaborator-cache.size", "10");
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.xstefank.wildfly.bot;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.xstefank.wildfly.bot.util.WriteBehindQueue;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.HttpException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the writes to GitHub passed to the sink on worker threads.
+ */
+@QuarkusTest
+@TestProfile(WriteBehindQueueTest.WriteBehindProfile.class)
+public class WriteBehindQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Inject
+    WriteBehindQueue writeBehindQueue;
+
+    @Inject
+    DroppedWrites droppedWrites;
+
+    @Test
+    void testPendingWriteIsSuperseded() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> written = new CopyOnWriteArrayList<>();
+
+        writeBehindQueue.submit(() -> "superseded", "first", () -> {
+            running.countDown();
+            await(release);
+            written.add("first");
+        });
+        await(running);
+        writeBehindQueue.submit(() -> "superseded", "second", () -> written.add("second"));
+        writeBehindQueue.submit(() -> "superseded", "third", () -> {
+            written.add("third");
+            done.countDown();
+        });
+        release.countDown();
+        await(done);
+
+        Assertions.assertEquals(List.of("first", "third"), written);
+    }
+
+    @Test
+    void testPendingMergingWriteTakesOverSupersededWrite() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<Set<String>> written = new CopyOnWriteArrayList<>();
+
+        writeBehindQueue.submit(() -> "merged", "first", () -> {
+            running.countDown();
+            await(release);
+        });
+        await(running);
+        writeBehindQueue.submit(() -> "merged", "a", new Union(Set.of("a"), written, done));
+        writeBehindQueue.submit(() -> "merged", "b", new Union(Set.of("b"), written, done));
+        release.countDown();
+        await(done);
+
+        Assertions.assertEquals(List.of(Set.of("a", "b")), written);
+    }
+
+    @Test
+    void testServerErrorIsRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+
+        writeBehindQueue.submit(() -> "retried", "retried", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new HttpException(502, "Bad Gateway", "", null);
+            }
+            done.countDown();
+        });
+        await(done);
+
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testClientErrorIsDroppedWithoutRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        writeBehindQueue.submit(() -> "dropped", "dropped", () -> {
+            attempts.incrementAndGet();
+            throw new HttpException(422, "Unprocessable Entity", "", null);
+        });
+        WriteBehindQueue.Dropped dropped = droppedWrites.await("dropped");
+
+        Assertions.assertEquals("dropped", dropped.getDescription());
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testServerErrorIsDroppedAfterMaxAttempts() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        writeBehindQueue.submit(() -> "exhausted", "exhausted", () -> {
+            attempts.incrementAndGet();
+            throw new HttpException(503, "Service Unavailable", "", null);
+        });
+        droppedWrites.await("exhausted");
+
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the union of its values and the values of the writes it supersedes.
+     */
+    private static final class Union implements WriteBehindQueue.MergingWrite {
+
+        private final Set<String> values;
+        private final List<Set<String>> written;
+        private final CountDownLatch done;
+
+        private Union(Set<String> values, List<Set<String>> written, CountDownLatch done) {
+            this.values = values;
+            this.written = written;
+            this.done = done;
+        }
+
+        @Override
+        public void write() {
+            written.add(values);
+            done.countDown();
+        }
+
+        @Override
+        public WriteBehindQueue.MergingWrite after(WriteBehindQueue.Write superseded) {
+            if (!(superseded instanceof Union older)) {
+                return this;
+            }
+            Set<String> merged = new TreeSet<>(older.values);
+            merged.addAll(values);
+            return new Union(merged, written, done);
+        }
+    }
+
+    @Singleton
+    public static class DroppedWrites {
+
+        private final List<WriteBehindQueue.Dropped> dropped = new CopyOnWriteArrayList<>();
+
+        void onDropped(@Observes WriteBehindQueue.Dropped write) {
+            synchronized (this) {
+                dropped.add(write);
+                notifyAll();
+            }
+        }
+
+        synchronized WriteBehindQueue.Dropped await(String target) throws InterruptedException, IOException {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+            while (true) {
+                for (WriteBehindQueue.Dropped write : dropped) {
+                    if (write.getTarget().equals(target)) {
+                        return write;
+                    }
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IOException("The write to " + target + " was not dropped");
+                }
+                wait(remaining);
+            }
+        }
+    }
+
+    public static class WriteBehindProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("wildfly-bot.write-behind.enabled", "true",
+                    "wildfly-bot.write-behind.max-attempts", "3",
+                    "wildfly-bot.write-behind.backoff", "10ms");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.xstefank.wildfly.bot.util;
+
+import io.quarkiverse.githubapp.GitHubClientProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHAppInstallationToken;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the clients shared per installation and the refreshes of their tokens.
+ */
+public class InstallationClientsTest {
+
+    private static final long INSTALLATION_ID = 22950279;
+
+    private GitHubClientProvider clientProvider;
+    private GitHubClientCustomizer gitHubClientCustomizer;
+    private InstallationClients installationClients;
+
+    @BeforeEach
+    void setUp() {
+        clientProvider = Mockito.mock(GitHubClientProvider.class, Mockito.RETURNS_DEEP_STUBS);
+        gitHubClientCustomizer = Mockito.mock(GitHubClientCustomizer.class);
+        installationClients = new InstallationClients(clientProvider, gitHubClientCustomizer,
+                "https://api.github.com", Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        installationClients.shutdown();
+    }
+
+    @Test
+    void testClientIsSharedWithSingleToken() throws IOException {
+        token(Duration.ofHours(1));
+
+        GitHub client = installationClients.get(INSTALLATION_ID);
+
+        Assertions.assertSame(client, installationClients.get(INSTALLATION_ID));
+        Assertions.assertEquals(1, installationClients.size());
+        Assertions.assertEquals(1, installationClients.getRefreshes());
+        Mockito.verify(gitHubClientCustomizer).customize(Mockito.any(), Mockito.eq(INSTALLATION_ID));
+    }
+
+    @Test
+    void testEvictedClientIsCreatedAgain() throws IOException {
+        token(Duration.ofHours(1));
+        GitHub client = installationClients.get(INSTALLATION_ID);
+
+        installationClients.evict(INSTALLATION_ID);
+
+        Assertions.assertEquals(0, installationClients.size());
+        Assertions.assertNotSame(client, installationClients.get(INSTALLATION_ID));
+        Assertions.assertEquals(2, installationClients.getRefreshes());
+    }
+
+    @Test
+    void testTokenCloseToExpiryIsRefreshedInBackground() throws Exception {
+        // expires before the refresh time, so the refresh is scheduled right away
+        token(Duration.ofMinutes(5));
+        installationClients.get(INSTALLATION_ID);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (installationClients.getRefreshes() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(installationClients.getRefreshes() >= 2, "The token was not refreshed");
+    }
+
+    @Test
+    void testFailedTokenCreationIsCounted() throws IOException {
+        Mockito.when(clientProvider.getApplicationClient().getApp().getInstallationById(INSTALLATION_ID)
+                .createToken().create()).thenThrow(new HttpException(502, "Bad Gateway", "", null));
+
+        Assertions.assertThrows(HttpException.class, () -> installationClients.get(INSTALLATION_ID));
+
+        Assertions.assertEquals(1, installationClients.getFailures());
+        Assertions.assertEquals(0, installationClients.getRefreshes());
+    }
+
+    private void token(Duration expiresIn) throws IOException {
+        GHAppInstallationToken token = Mockito.mock(GHAppInstallationToken.class);
+        Mockito.when(token.getToken()).thenReturn("ghs_token");
+        Mockito.when(token.getExpiresAt()).thenReturn(Date.from(Instant.now().plus(expiresIn)));
+        Mockito.when(clientProvider.getApplicationClient().getApp().getInstallationById(INSTALLATION_ID)
+                .createToken().create()).thenReturn(token);
+    }
+}